@@ -0,0 +1,70 @@
+package de.timmi6790.mineplex.stats;
+
+import de.timmi6790.mpstats.api.client.common.board.models.Board;
+import de.timmi6790.mpstats.api.client.common.game.models.Game;
+import de.timmi6790.mpstats.api.client.common.leaderboard.models.Leaderboard;
+import de.timmi6790.mpstats.api.client.common.player.models.GeneratedPlayerEntry;
+import de.timmi6790.mpstats.api.client.common.player.models.PlayerEntry;
+import de.timmi6790.mpstats.api.client.common.player.models.PlayerStats;
+import de.timmi6790.mpstats.api.client.common.stat.models.Stat;
+import de.timmi6790.mpstats.api.client.common.stat.models.StatType;
+import de.timmi6790.mpstats.api.client.java.player.models.JavaPlayer;
+import lombok.experimental.UtilityClass;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Creates the api models used by the benchmarks. The benchmarks don't construct api models anywhere else, changes of
+ * the model constructors in the api client only need to be followed here.
+ */
+@UtilityClass
+public class BenchmarkModels {
+    public Stat createStat(final String statName, final StatType type) {
+        return new Stat(statName, statName, "", Set.of(), false, 0, type);
+    }
+
+    /**
+     * Creates the stats of a player like the api returns them.
+     */
+    public PlayerStats<JavaPlayer> createPlayerStats(final Random random,
+                                                     final int stats,
+                                                     final UUID playerUUID,
+                                                     final String playerName) {
+        final ZonedDateTime saveTime = ZonedDateTime.of(2021, 8, 14, 18, 0, 0, 0, ZoneOffset.UTC);
+
+        final Game game = new Game("Global", "Global", Set.of(), "Global", "", "");
+        final Board board = new Board("All", "All", Set.of());
+
+        final StatType[] statTypes = StatType.values();
+        final Set<PlayerEntry> entries = new HashSet<>();
+        for (int index = 0; stats > index; index++) {
+            final Stat stat = new Stat(
+                    "Stat" + index,
+                    "Stat " + index,
+                    "",
+                    Set.of(),
+                    random.nextInt(5) == 0,
+                    random.nextInt(3),
+                    statTypes[random.nextInt(statTypes.length)]
+            );
+            final Leaderboard leaderboard = new Leaderboard(game, stat, board);
+            entries.add(
+                    new PlayerEntry(
+                            leaderboard,
+                            random.nextInt(10) == 0 ? -1 : random.nextInt(5_000_000),
+                            random.nextInt(1_000) + 1,
+                            saveTime.minusMinutes(random.nextInt(600))
+                    )
+            );
+        }
+
+        final GeneratedPlayerEntry generatedEntry = new GeneratedPlayerEntry("Total Wins", random.nextInt(5_000_000));
+        final JavaPlayer player = new JavaPlayer(playerUUID, playerName);
+        return new PlayerStats<>(player, entries, Set.of(generatedEntry));
+    }
+}
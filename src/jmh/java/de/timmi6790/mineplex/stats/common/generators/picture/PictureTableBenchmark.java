@@ -0,0 +1,99 @@
+package de.timmi6790.mineplex.stats.common.generators.picture;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class PictureTableBenchmark {
+    private static final long SEED = 6790;
+
+    @Param({"15", "40"})
+    private int rows;
+
+    @Param({"false", "true"})
+    private boolean withSkin;
+
+    @Param({"false", "true"})
+    private boolean glyphAtlas;
+
+    private String[] header;
+    private String subHeader;
+    private String[][] leaderboard;
+    private byte[] skinPng;
+
+    private PictureTable renderedTable;
+    private BufferedImage renderedImage;
+
+    @TearDown
+    public void tearDown() {
+        AbstractPicture.setGlyphAtlasEnabled(false);
+    }
+
+    private static byte[] createSkinPng(final Random random) throws IOException {
+        // Same size as the visage front full renders
+        final BufferedImage skin = new BufferedImage(180, 432, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D graphics = skin.createGraphics();
+        for (int y = 0; skin.getHeight() > y; y += 12) {
+            for (int x = 0; skin.getWidth() > x; x += 12) {
+                graphics.setColor(new Color(random.nextInt(0xFFFFFF)));
+                graphics.fillRect(x, y, 12, 12);
+            }
+        }
+        graphics.dispose();
+
+        // Skins are cached as png, the table decodes them while rendering
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(skin, "png", out);
+        return out.toByteArray();
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        AbstractPicture.setGlyphAtlasEnabled(this.glyphAtlas);
+        final Random random = new Random(SEED);
+
+        this.header = new String[]{"Global", "Wins", "All"};
+        this.subHeader = "Java - 08/14/2021 18:00:00 GMT";
+        this.leaderboard = new String[this.rows + 1][];
+        this.leaderboard[0] = new String[]{"Player", "Score", "Position"};
+        for (int row = 1; this.leaderboard.length > row; row++) {
+            this.leaderboard[row] = new String[]{
+                    "Player" + random.nextInt(1_000_000),
+                    String.format("%,d", random.nextInt(10_000_000)),
+                    String.format("%,d", row)
+            };
+        }
+        this.skinPng = this.withSkin ? createSkinPng(random) : null;
+
+        this.renderedTable = this.createTable();
+        this.renderedImage = ImageIO.read(new ByteArrayInputStream(this.renderedTable.generatePicture()));
+    }
+
+    private PictureTable createTable() {
+        return new PictureTable(this.header, this.subHeader, this.leaderboard, this.skinPng, null);
+    }
+
+    @Benchmark
+    public byte[] generatePicture() {
+        // The table keeps its layout state, each render needs a new instance
+        return this.createTable().generatePicture();
+    }
+
+    @Benchmark
+    public byte[] convertToBytes() {
+        return this.renderedTable.convertToBytes(this.renderedImage);
+    }
+}
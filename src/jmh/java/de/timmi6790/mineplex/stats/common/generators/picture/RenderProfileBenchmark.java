@@ -0,0 +1,39 @@
+package de.timmi6790.mineplex.stats.common.generators.picture;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class RenderProfileBenchmark {
+    @Param({"QUALITY", "BALANCED", "FAST"})
+    private RenderProfile renderProfile;
+
+    private RenderProfile previousProfile;
+
+    @Setup
+    public void setup() {
+        this.previousProfile = AbstractPicture.getRenderProfile();
+        AbstractPicture.setRenderProfile(this.renderProfile);
+    }
+
+    @TearDown
+    public void tearDown() {
+        AbstractPicture.setRenderProfile(this.previousProfile);
+    }
+
+    @Benchmark
+    public byte[] generateTable() {
+        return RenderProfileSamples.createTable().generatePicture();
+    }
+
+    @Benchmark
+    public byte[] generatePie() {
+        return RenderProfileSamples.createPie().generatePicture();
+    }
+}
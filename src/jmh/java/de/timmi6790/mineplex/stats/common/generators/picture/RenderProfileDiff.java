@@ -0,0 +1,109 @@
+package de.timmi6790.mineplex.stats.common.generators.picture;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Pixel difference report of every render profile and the glyph atlas against {@link RenderProfile#QUALITY}.
+ * <p>
+ * Run with the benchmark classpath: {@code java -Djava.awt.headless=true ...RenderProfileDiff [outputDirectory]}. The
+ * rendered pictures are written to the output directory when one is given.
+ */
+public final class RenderProfileDiff {
+    private RenderProfileDiff() {
+    }
+
+    private static BufferedImage render(final Supplier<? extends AbstractPicture> pictureSupplier,
+                                        final RenderProfile renderProfile) throws IOException {
+        AbstractPicture.setRenderProfile(renderProfile);
+        return ImageIO.read(new ByteArrayInputStream(pictureSupplier.get().generatePicture()));
+    }
+
+    private static int getChannelDelta(final int expected, final int actual, final int shift) {
+        return Math.abs(((expected >> shift) & 0xFF) - ((actual >> shift) & 0xFF));
+    }
+
+    private static String compare(final BufferedImage expected, final BufferedImage actual) {
+        if (expected.getWidth() != actual.getWidth() || expected.getHeight() != actual.getHeight()) {
+            return "different size";
+        }
+
+        final int width = expected.getWidth();
+        final int height = expected.getHeight();
+        final int[] expectedPixels = expected.getRGB(0, 0, width, height, null, 0, width);
+        final int[] actualPixels = actual.getRGB(0, 0, width, height, null, 0, width);
+
+        long differentPixels = 0;
+        long deltaSum = 0;
+        int maximumDelta = 0;
+        for (int index = 0; expectedPixels.length > index; index++) {
+            if (expectedPixels[index] == actualPixels[index]) {
+                continue;
+            }
+
+            final int delta = Math.max(
+                    getChannelDelta(expectedPixels[index], actualPixels[index], 16),
+                    Math.max(
+                            getChannelDelta(expectedPixels[index], actualPixels[index], 8),
+                            getChannelDelta(expectedPixels[index], actualPixels[index], 0)
+                    )
+            );
+            differentPixels++;
+            deltaSum += delta;
+            maximumDelta = Math.max(maximumDelta, delta);
+        }
+
+        return String.format(
+                Locale.ROOT,
+                "different pixels %.3f%%, max channel delta %d, mean channel delta %.1f",
+                100D * differentPixels / expectedPixels.length,
+                maximumDelta,
+                differentPixels == 0 ? 0D : (double) deltaSum / differentPixels
+        );
+    }
+
+    private static void report(final String name,
+                               final Supplier<? extends AbstractPicture> pictureSupplier,
+                               final BufferedImage reference,
+                               final Path outputDirectory) throws IOException {
+        for (final RenderProfile renderProfile : RenderProfile.values()) {
+            final BufferedImage image = render(pictureSupplier, renderProfile);
+            System.out.printf("%-6s %-8s %s%n", name, renderProfile, compare(reference, image));
+
+            if (outputDirectory != null) {
+                ImageIO.write(image, "png", outputDirectory.resolve(name + "-" + renderProfile + ".png").toFile());
+            }
+        }
+    }
+
+    public static void main(final String[] args) throws IOException {
+        Path outputDirectory = null;
+        if (args.length > 0) {
+            outputDirectory = Files.createDirectories(Paths.get(args[0]));
+        }
+
+        final RenderProfile previousProfile = AbstractPicture.getRenderProfile();
+        final boolean previousGlyphAtlas = AbstractPicture.isGlyphAtlasEnabled();
+        try {
+            AbstractPicture.setGlyphAtlasEnabled(false);
+            final BufferedImage tableReference = render(RenderProfileSamples::createTable, RenderProfile.QUALITY);
+            final BufferedImage pieReference = render(RenderProfileSamples::createPie, RenderProfile.QUALITY);
+            report("table", RenderProfileSamples::createTable, tableReference, outputDirectory);
+            report("pie", RenderProfileSamples::createPie, pieReference, outputDirectory);
+
+            // The atlas replaces drawString, the reference stays the drawString output
+            AbstractPicture.setGlyphAtlasEnabled(true);
+            report("atlas", RenderProfileSamples::createTable, tableReference, outputDirectory);
+        } finally {
+            AbstractPicture.setRenderProfile(previousProfile);
+            AbstractPicture.setGlyphAtlasEnabled(previousGlyphAtlas);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package de.timmi6790.mineplex.stats.common.generators.picture;
+
+import de.timmi6790.mineplex.stats.common.models.PieSlice;
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fixed pictures that are rendered with every render profile.
+ */
+@UtilityClass
+class RenderProfileSamples {
+    private static final long SEED = 6790;
+    private static final int TABLE_ROWS = 25;
+    private static final int PIE_SLICES = 8;
+
+    PictureTable createTable() {
+        final Random random = new Random(SEED);
+        final String[][] leaderboard = new String[TABLE_ROWS + 1][];
+        leaderboard[0] = new String[]{"Player", "Score", "Position"};
+        for (int row = 1; leaderboard.length > row; row++) {
+            leaderboard[row] = new String[]{
+                    "Player" + random.nextInt(1_000_000),
+                    String.format("%,d", random.nextInt(10_000_000)),
+                    String.format("%,d", row)
+            };
+        }
+        return new PictureTable(
+                new String[]{"Global", "Wins", "All"},
+                "Java - 08/14/2021 18:00:00 GMT",
+                leaderboard
+        );
+    }
+
+    PicturePie createPie() {
+        final Random random = new Random(SEED);
+        final List<PieSlice> slices = new ArrayList<>(PIE_SLICES);
+        for (int index = 0; PIE_SLICES > index; index++) {
+            slices.add(new PieSlice("Game" + index, 1 + random.nextInt(10_000)));
+        }
+        return new PicturePie("Player", "Java - 08/14/2021 18:00:00 GMT", slices, true);
+    }
+}
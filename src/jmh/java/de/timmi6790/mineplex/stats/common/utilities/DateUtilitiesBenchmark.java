@@ -0,0 +1,36 @@
+package de.timmi6790.mineplex.stats.common.utilities;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class DateUtilitiesBenchmark {
+    // One input per supported shape
+    @Param({
+            "08.14.2021",
+            "08.14.2021 18",
+            "08.14.2021 18:30",
+            "08.14.2021 18:30:15",
+            "2021-08-14T18:30:15Z",
+            "3d 12h ago",
+            "1628963200",
+            "invalid"
+    })
+    private String input;
+
+    private final ZonedDateTime now = ZonedDateTime.of(2021, 8, 14, 18, 0, 0, 0, ZoneOffset.UTC);
+
+    @Benchmark
+    public Optional<ZonedDateTime> parseZonedDateTime() {
+        return DateUtilities.parseZonedDateTime(this.input, this.now);
+    }
+}
@@ -0,0 +1,73 @@
+package de.timmi6790.mineplex.stats.common.utilities;
+
+import de.timmi6790.mineplex.stats.BenchmarkModels;
+import de.timmi6790.mpstats.api.client.common.stat.models.Stat;
+import de.timmi6790.mpstats.api.client.common.stat.models.StatType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class FormationUtilitiesBenchmark {
+    private static final long SEED = 6790;
+    private static final int VALUES = 1_024;
+
+    private final long[] scores = new long[VALUES];
+    private final long[] durations = new long[VALUES];
+    private final ZonedDateTime[] times = new ZonedDateTime[VALUES];
+
+    private Stat numberStat;
+    private Stat timeStat;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(SEED);
+        for (int index = 0; VALUES > index; index++) {
+            this.scores[index] = random.nextInt(Integer.MAX_VALUE);
+            this.durations[index] = random.nextInt((int) TimeUnit.DAYS.toSeconds(400));
+            this.times[index] = ZonedDateTime.of(2021, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC)
+                    .plusSeconds(random.nextInt((int) TimeUnit.DAYS.toSeconds(365)));
+        }
+
+        final StatType numberType = Arrays.stream(StatType.values())
+                .filter(type -> type != StatType.TIME_IN_SECONDS)
+                .findFirst()
+                .orElseThrow();
+        this.numberStat = BenchmarkModels.createStat("Wins", numberType);
+        this.timeStat = BenchmarkModels.createStat("TimeInGame", StatType.TIME_IN_SECONDS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void getFormattedScoreNumber(final Blackhole blackhole) {
+        for (final long score : this.scores) {
+            blackhole.consume(FormationUtilities.getFormattedScore(this.numberStat, score));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void getFormattedScoreTime(final Blackhole blackhole) {
+        for (final long duration : this.durations) {
+            blackhole.consume(FormationUtilities.getFormattedScore(this.timeStat, duration));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void getFormattedTime(final Blackhole blackhole) {
+        for (final ZonedDateTime time : this.times) {
+            blackhole.consume(FormationUtilities.getFormattedTime(time));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package de.timmi6790.mineplex.stats.java.commands.player;
+
+import de.timmi6790.mineplex.stats.BenchmarkModels;
+import de.timmi6790.mineplex.stats.common.models.ParserResult;
+import de.timmi6790.mpstats.api.client.common.player.models.PlayerStats;
+import de.timmi6790.mpstats.api.client.java.player.models.JavaPlayer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JavaPlayerCommandBenchmark {
+    private static final long SEED = 6790;
+
+    @Param({"10", "60"})
+    private int stats;
+
+    private PlayerStats<JavaPlayer> playerStats;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(SEED);
+        this.playerStats = BenchmarkModels.createPlayerStats(
+                random,
+                this.stats,
+                new UUID(random.nextLong(), random.nextLong()),
+                "Timmi6790"
+        );
+    }
+
+    @Benchmark
+    public ParserResult parsePlayerStats() {
+        return JavaPlayerCommand.parsePlayerStats(this.playerStats);
+    }
+}
@@ -0,0 +1,231 @@
+package de.timmi6790.mineplex.stats.java.commands.player;
+
+import de.timmi6790.discord_framework.module.modules.command.CommandParameters;
+import de.timmi6790.discord_framework.module.modules.command.CommandResult;
+import de.timmi6790.discord_framework.module.modules.reactions.button.ButtonReactionModule;
+import de.timmi6790.mineplex.stats.BenchmarkModels;
+import de.timmi6790.mineplex.stats.common.BaseMineplexStatsModule;
+import de.timmi6790.mineplex.stats.common.Config;
+import de.timmi6790.mineplex.stats.common.commands.BaseStatsCommand;
+import de.timmi6790.mineplex.stats.common.generators.picture.PictureTable;
+import de.timmi6790.mineplex.stats.common.models.ParserResult;
+import de.timmi6790.mineplex.stats.common.utilities.FormationUtilities;
+import de.timmi6790.mpstats.api.client.common.player.models.PlayerStats;
+import de.timmi6790.mpstats.api.client.java.JavaMpStatsApiClient;
+import de.timmi6790.mpstats.api.client.java.player.models.JavaPlayer;
+import net.dv8tion.jda.api.entities.MessageChannel;
+import net.dv8tion.jda.api.requests.restaction.MessageAction;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Load test of the stats command execution. Commands run through the real {@link BaseStatsCommand} path, with the
+ * single flight, api call limiter, picture cache and render executor of the module. Only the api and discord are
+ * stubbed, the api answers with real models after a fixed latency.
+ * <p>
+ * Each benchmark thread is a user that sends a command to the fixed command pool of the discord framework and waits
+ * until its picture is sent. Compare the throughput and p99 with and without virtual threads.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class JavaPlayerCommandLoadBenchmark {
+    private static final long SEED = 6790;
+    private static final long API_LATENCY_MILLIS = 20;
+    private static final long COMMAND_TIMEOUT_SECONDS = 30;
+    private static final int STATS = 30;
+    // The discord framework executes commands on a fixed pool of this size
+    private static final int FRAMEWORK_COMMAND_THREADS = 10;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"16"})
+    private int maximumConcurrentApiCalls;
+
+    /**
+     * Distinct players requested by the users. Identical requests are collapsed and their pictures are cached.
+     */
+    @Param({"256"})
+    private int players;
+
+    private String[] playerNames;
+    private ExecutorService frameworkExecutor;
+    private LoadTestCommand command;
+
+    private static UUID getPlayerUUID(final String playerName) {
+        return UUID.nameUUIDFromBytes(playerName.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(SEED);
+        this.playerNames = new String[this.players];
+        final Map<UUID, PlayerStats<JavaPlayer>> playerStats = new HashMap<>();
+        for (int index = 0; this.players > index; index++) {
+            this.playerNames[index] = "Player" + index;
+            final UUID playerUUID = getPlayerUUID(this.playerNames[index]);
+            playerStats.put(
+                    playerUUID,
+                    BenchmarkModels.createPlayerStats(random, STATS, playerUUID, this.playerNames[index])
+            );
+        }
+
+        final JavaMpStatsApiClient apiClient = mock(JavaMpStatsApiClient.class, RETURNS_DEEP_STUBS);
+        when(apiClient.getPlayerClient().getPlayerGameStats(any(), any(), any(), anyBoolean(), any(), any()))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(API_LATENCY_MILLIS);
+                    return Optional.ofNullable(playerStats.get(invocation.<UUID>getArgument(0)));
+                });
+
+        final Config config = new Config();
+        config.getCommandExecution()
+                .setVirtualThreads(this.virtualThreads)
+                .setMaximumConcurrentApiCalls(this.maximumConcurrentApiCalls);
+        final BaseMineplexStatsModule statsModule = new BaseMineplexStatsModule();
+        statsModule.initializeExecution(config);
+
+        this.command = new LoadTestCommand(apiClient, statsModule);
+        this.frameworkExecutor = Executors.newFixedThreadPool(FRAMEWORK_COMMAND_THREADS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.frameworkExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public void executeCommand(final User user) throws ExecutionException, InterruptedException, TimeoutException {
+        final CompletableFuture<Void> sentPicture = user.nextCommand(this.playerNames);
+        this.frameworkExecutor.execute(() -> this.command.execute(user.getCommandParameters()));
+        sentPicture.get(COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * A discord user, the picture of the current command is sent to the stubbed channel of the user.
+     */
+    @State(Scope.Thread)
+    public static class User {
+        // Every user has its own seed, the requested players are the same on every run
+        private static final AtomicInteger USER_INDEX = new AtomicInteger();
+
+        private final Random random = new Random(SEED + USER_INDEX.getAndIncrement());
+        private String[] args;
+        private CompletableFuture<Void> sentPicture;
+        private CommandParameters commandParameters;
+
+        @Setup
+        public void setup() {
+            final MessageAction messageAction = mock(MessageAction.class);
+            doAnswer(invocation -> this.sentPicture.complete(null)).when(messageAction).queue(any());
+
+            final MessageChannel channel = mock(
+                    MessageChannel.class,
+                    invocation -> invocation.getMethod().getReturnType() == MessageAction.class
+                            ? messageAction : RETURNS_DEFAULTS.answer(invocation)
+            );
+
+            this.commandParameters = mock(CommandParameters.class);
+            when(this.commandParameters.getArgs()).thenAnswer(invocation -> this.args);
+            when(this.commandParameters.getLowestMessageChannel()).thenReturn(channel);
+        }
+
+        private CompletableFuture<Void> nextCommand(final String[] playerNames) {
+            this.args = new String[]{playerNames[this.random.nextInt(playerNames.length)], "Global", "All"};
+            this.sentPicture = new CompletableFuture<>();
+            return this.sentPicture;
+        }
+
+        private CommandParameters getCommandParameters() {
+            return this.commandParameters;
+        }
+    }
+
+    /**
+     * The body of the {@link JavaPlayerCommand}, without the uuid lookup, filter settings and skin download of the
+     * real command, which depend on a running bot.
+     */
+    private static class LoadTestCommand extends BaseStatsCommand<JavaPlayer> {
+        private static final int TIME_POSITION = 3;
+
+        LoadTestCommand(final JavaMpStatsApiClient apiClient, final BaseMineplexStatsModule statsModule) {
+            super(
+                    apiClient,
+                    statsModule,
+                    mock(ButtonReactionModule.class),
+                    "player",
+                    "Java",
+                    "Check player stats",
+                    "<player> <game> [board] [dateTime]"
+            );
+        }
+
+        private CommandResult execute(final CommandParameters commandParameters) {
+            return this.onCommand(commandParameters);
+        }
+
+        @Override
+        protected CommandResult onStatsCommand(final CommandParameters commandParameters) {
+            final String[] args = commandParameters.getArgs();
+            final UUID playerUUID = getPlayerUUID(args[0]);
+            final String game = args[1];
+            final String board = args[2];
+            final ZonedDateTime zonedDateTime = ZonedDateTime.now();
+
+            // Skins are served from the skin cache
+            final CompletableFuture<byte[]> skinFuture = CompletableFuture.completedFuture(null);
+            final Optional<PlayerStats<JavaPlayer>> playerStatsOpt = this.executeApiCall(
+                    () -> ((JavaMpStatsApiClient) this.getApiClient()).getPlayerClient().getPlayerGameStats(
+                            playerUUID,
+                            game,
+                            board,
+                            true,
+                            zonedDateTime,
+                            Set.of()
+                    ),
+                    "playerGameStats",
+                    playerUUID,
+                    game.toLowerCase(Locale.ROOT),
+                    board.toLowerCase(Locale.ROOT),
+                    getRequestedTime(commandParameters, TIME_POSITION, zonedDateTime),
+                    Set.of()
+            );
+            if (playerStatsOpt.isEmpty()) {
+                return CommandResult.ERROR;
+            }
+
+            final ParserResult parserResult = JavaPlayerCommand.parsePlayerStats(playerStatsOpt.get());
+            final String subHeader = "Java - " + FormationUtilities.getFormattedTime(parserResult.getHighestTime());
+            return this.sendPicture(
+                    commandParameters,
+                    skinFuture.thenApplyAsync(skin ->
+                            new PictureTable(
+                                    parserResult.getHeader(),
+                                    subHeader,
+                                    parserResult.getLeaderboard(),
+                                    skin,
+                                    null
+                            )
+                    ),
+                    String.format("%s-%s", String.join("-", parserResult.getHeader()), subHeader)
+            );
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package de.timmi6790.minecraft.skin;
+
+import io.sentry.Sentry;
+import lombok.Data;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Size bounded directory of raw skin pngs, one file per player.
+ * <p>
+ * Entries older than the expire duration are ignored and removed during the cleanup. When the directory grows above
+ * the maximum size, the oldest files are removed until it is below 90% of the limit.
+ */
+@Log4j2
+public class DiskSkinStore {
+    private static final String FILE_EXTENSION = ".png";
+    private static final double CLEANUP_TARGET = 0.9;
+
+    private final Path directory;
+    private final long maximumBytes;
+    private final Duration expireAfter;
+
+    private final AtomicLong currentBytes = new AtomicLong();
+
+    public DiskSkinStore(final Path directory, final long maximumBytes, final Duration expireAfter) throws IOException {
+        this.directory = directory;
+        this.maximumBytes = maximumBytes;
+        this.expireAfter = expireAfter;
+
+        Files.createDirectories(directory);
+        this.cleanup();
+    }
+
+    private Path getPath(final UUID uuid) {
+        return this.directory.resolve(uuid + FILE_EXTENSION);
+    }
+
+    private boolean isExpired(final FileTime lastModified) {
+        return lastModified.toInstant().plus(this.expireAfter).isBefore(Instant.now());
+    }
+
+    public Optional<byte[]> get(final UUID uuid) {
+        final Path path = this.getPath(uuid);
+        try {
+            if (!Files.isRegularFile(path) || this.isExpired(Files.getLastModifiedTime(path))) {
+                return Optional.empty();
+            }
+
+            return Optional.of(Files.readAllBytes(path));
+        } catch (final NoSuchFileException e) {
+            // Removed by a concurrent cleanup
+            return Optional.empty();
+        } catch (final IOException e) {
+            log.warn("Can't read skin " + path, e);
+            return Optional.empty();
+        }
+    }
+
+    public void put(final UUID uuid, final byte[] skin) {
+        final Path path = this.getPath(uuid);
+        try {
+            final long previousSize = Files.isRegularFile(path) ? Files.size(path) : 0;
+
+            // Write into a temp file first, readers should never see a partial png
+            final Path tempPath = Files.createTempFile(this.directory, uuid.toString(), ".tmp");
+            Files.write(tempPath, skin);
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            if (this.currentBytes.addAndGet(skin.length - previousSize) > this.maximumBytes) {
+                this.cleanup();
+            }
+        } catch (final IOException e) {
+            log.warn("Can't write skin " + path, e);
+            Sentry.captureException(e);
+        }
+    }
+
+    private synchronized void cleanup() throws IOException {
+        final List<StoredFile> files = new ArrayList<>();
+        long totalBytes = 0;
+        try (final Stream<Path> stream = Files.list(this.directory)) {
+            for (final Path path : (Iterable<Path>) stream::iterator) {
+                final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                if (!attributes.isRegularFile()) {
+                    continue;
+                }
+
+                // Expired entries and left over temp files of a crash
+                if (!path.getFileName().toString().endsWith(FILE_EXTENSION) || this.isExpired(attributes.lastModifiedTime())) {
+                    Files.deleteIfExists(path);
+                    continue;
+                }
+
+                files.add(new StoredFile(path, attributes.size(), attributes.lastModifiedTime()));
+                totalBytes += attributes.size();
+            }
+        }
+
+        if (totalBytes > this.maximumBytes) {
+            final long targetBytes = (long) (this.maximumBytes * CLEANUP_TARGET);
+            files.sort(Comparator.comparing(StoredFile::getLastModified));
+            for (final StoredFile file : files) {
+                if (targetBytes >= totalBytes) {
+                    break;
+                }
+
+                Files.deleteIfExists(file.getPath());
+                totalBytes -= file.getSize();
+            }
+        }
+
+        this.currentBytes.set(totalBytes);
+        log.debug("Disk skin store {} contains {} bytes", this.directory, totalBytes);
+    }
+
+    @Data
+    private static class StoredFile {
+        private final Path path;
+        private final long size;
+        private final FileTime lastModified;
+    }
+}
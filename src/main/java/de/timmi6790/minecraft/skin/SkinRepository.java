@@ -0,0 +1,157 @@
+package de.timmi6790.minecraft.skin;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import kong.unirest.HttpResponse;
+import kong.unirest.HttpStatus;
+import kong.unirest.Unirest;
+import lombok.extern.log4j.Log4j2;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Player skins as raw png bytes. Recently used skins are kept in a small in memory cache, backed by an optional
+ * {@link DiskSkinStore} that survives restarts.
+ * <p>
+ * Skins are loaded on a dedicated bounded executor, which also limits the amount of outstanding visage requests.
+ * Missing skins and timeouts are remembered for a short time, to not request them again on every command.
+ */
+@Log4j2
+public class SkinRepository {
+    private static final String SKIN_URL = "https://visage.surgeplay.com/frontfull/{uuid}.png";
+    private static final int QUEUE_SIZE = 1_000;
+
+    @Nullable
+    private final DiskSkinStore diskStore;
+    private final int requestTimeoutMillis;
+    private final AsyncLoadingCache<UUID, byte[]> memoryCache;
+    private final Cache<UUID, Boolean> negativeCache;
+
+    public SkinRepository(final long maximumMemoryBytes,
+                          @Nullable final DiskSkinStore diskStore,
+                          final int maximumConcurrentRequests,
+                          final int requestTimeoutMillis,
+                          final Duration negativeExpireAfter) {
+        this.diskStore = diskStore;
+        this.requestTimeoutMillis = requestTimeoutMillis;
+
+        final Executor loaderExecutor = new ThreadPoolExecutor(
+                maximumConcurrentRequests,
+                maximumConcurrentRequests,
+                1,
+                TimeUnit.MINUTES,
+                new ArrayBlockingQueue<>(QUEUE_SIZE),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("skin-loader-%d")
+                        .setDaemon(true)
+                        .build()
+        );
+        ((ThreadPoolExecutor) loaderExecutor).allowCoreThreadTimeOut(true);
+
+        this.memoryCache = Caffeine.newBuilder()
+                .maximumWeight(maximumMemoryBytes)
+                .weigher((final UUID uuid, final byte[] skin) -> skin.length)
+                .expireAfterWrite(10, TimeUnit.MINUTES)
+                .executor(loaderExecutor)
+                .recordStats()
+                .buildAsync(this::loadSkin);
+        this.negativeCache = Caffeine.newBuilder()
+                .expireAfterWrite(negativeExpireAfter)
+                .build();
+    }
+
+    public SkinRepository(final long maximumMemoryBytes, @Nullable final DiskSkinStore diskStore) {
+        this(maximumMemoryBytes, diskStore, 4, 5_000, Duration.ofMinutes(1));
+    }
+
+    private static boolean isTimeout(final Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause != null) {
+            if (cause instanceof SocketTimeoutException || cause instanceof HttpTimeoutException) {
+                return true;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+    @Nullable
+    private byte[] loadSkin(final UUID uuid) {
+        if (this.negativeCache.getIfPresent(uuid) != null) {
+            return null;
+        }
+
+        if (this.diskStore != null) {
+            final Optional<byte[]> storedSkin = this.diskStore.get(uuid);
+            if (storedSkin.isPresent()) {
+                return storedSkin.get();
+            }
+        }
+
+        final byte[] skin = this.requestSkin(uuid);
+        if (skin != null && this.diskStore != null) {
+            this.diskStore.put(uuid, skin);
+        }
+        return skin;
+    }
+
+    @Nullable
+    private byte[] requestSkin(final UUID uuid) {
+        final HttpResponse<byte[]> response;
+        try {
+            response = Unirest.get(SKIN_URL)
+                    .routeParam("uuid", uuid.toString().replace("-", ""))
+                    .connectTimeout((int) TimeUnit.SECONDS.toMillis(2))
+                    .socketTimeout(this.requestTimeoutMillis)
+                    .asBytes();
+        } catch (final Exception e) {
+            if (isTimeout(e)) {
+                log.debug("Skin request for {} timed out", uuid);
+                this.negativeCache.put(uuid, Boolean.TRUE);
+            } else {
+                log.debug("Skin request for " + uuid + " failed", e);
+            }
+            return null;
+        }
+
+        if (!response.isSuccess()) {
+            log.debug("Skin request for {} returned status {}", uuid, response.getStatus());
+            if (response.getStatus() == HttpStatus.NOT_FOUND) {
+                this.negativeCache.put(uuid, Boolean.TRUE);
+            }
+            return null;
+        }
+
+        return response.getBody();
+    }
+
+    /**
+     * Returns the encoded skin png or null if the skin could not be found.
+     */
+    public CompletableFuture<byte[]> getSkin(final UUID uuid) {
+        if (this.negativeCache.getIfPresent(uuid) != null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        try {
+            return this.memoryCache.get(uuid);
+        } catch (final RejectedExecutionException e) {
+            // All loader threads are busy and the queue is full, the picture is rendered without the skin
+            log.debug("Skin loader queue is full, skipped {}", uuid);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    public CacheStats getStats() {
+        return this.memoryCache.synchronous().stats();
+    }
+}
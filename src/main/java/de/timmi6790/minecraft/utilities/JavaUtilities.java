@@ -1,63 +1,126 @@
 package de.timmi6790.minecraft.utilities;
 
-import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import io.sentry.Sentry;
-import kong.unirest.HttpResponse;
-import kong.unirest.Unirest;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import de.timmi6790.api.mojang.MojangApiClient;
+import de.timmi6790.minecraft.skin.SkinRepository;
 import lombok.NonNull;
 import lombok.experimental.UtilityClass;
-import lombok.extern.log4j.Log4j2;
+import org.jetbrains.annotations.Nullable;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 @UtilityClass
-@Log4j2
 public class JavaUtilities {
     private final Pattern NAME_PATTERN = Pattern.compile("^\\w{1,16}$");
 
-    private static final AsyncLoadingCache<UUID, BufferedImage> SKIN_CACHE = Caffeine.newBuilder()
+    // Names can change, but not more often than every 30 days
+    private static final LoadingCache<String, Optional<UUID>> UUID_CACHE = Caffeine.newBuilder()
             .maximumSize(10_000)
-            .expireAfterWrite(10, TimeUnit.MINUTES)
-            .expireAfterAccess(2, TimeUnit.MINUTES)
-            .buildAsync(uuid -> {
-                final HttpResponse<byte[]> response;
-                try {
-                    response = Unirest.get("https://visage.surgeplay.com/frontfull/{uuid}.png")
-                            .routeParam("uuid", uuid.toString().replace("-", ""))
-                            .connectTimeout((int) TimeUnit.SECONDS.toMillis(2))
-                            .asBytes();
-                } catch (Exception e) {
-                    return null;
-                }
-
-                if (!response.isSuccess()) {
-                    return null;
-                }
-
-                try (final InputStream in = new ByteArrayInputStream(response.getBody())) {
-                    return ImageIO.read(in);
-                } catch (final IOException e) {
-                    log.error("", e);
-                    Sentry.captureException(e);
-                    return null;
-                }
-            });
+            .expireAfter(new UUIDExpiry(Duration.ofMinutes(30), Duration.ofMinutes(1)))
+            .recordStats()
+            .build(playerName -> MojangApiClient.getInstance().getPlayerUUID(playerName));
 
+    // Keyed by identity. The png bytes are shared while the skin is cached, each skin is only hashed once
+    private static final Cache<byte[], HashCode> PNG_HASHES = Caffeine.newBuilder()
+            .weakKeys()
+            .build();
+
+    // Memory only until the module configured the disk store
+    private static volatile SkinRepository skinRepository = new SkinRepository(16L * 1024 * 1024, null);
+
+    public SkinRepository getSkinRepository() {
+        return skinRepository;
+    }
+
+    public void setSkinRepository(@NonNull final SkinRepository skinRepository) {
+        JavaUtilities.skinRepository = skinRepository;
+    }
 
     public boolean isValidName(@NonNull final String playerName) {
         return NAME_PATTERN.matcher(playerName).find();
     }
 
-    public CompletableFuture<BufferedImage> getPlayerSkin(@NonNull final UUID uuid) {
-        return SKIN_CACHE.get(uuid);
+    /**
+     * Returns the uuid of the player name. Resolved and unknown names are cached, concurrent lookups of the same name
+     * share one mojang request.
+     */
+    public Optional<UUID> getPlayerUUID(@NonNull final String playerName) {
+        return UUID_CACHE.get(playerName.toLowerCase(Locale.ROOT));
+    }
+
+    public CacheStats getPlayerUUIDStats() {
+        return UUID_CACHE.stats();
+    }
+
+    /**
+     * Returns the png of the player skin. The png is shared with the skin cache, pictures only decode it when they are
+     * rendered.
+     */
+    public CompletableFuture<byte[]> getPlayerSkin(@NonNull final UUID uuid) {
+        return skinRepository.getSkin(uuid);
+    }
+
+    /**
+     * Identifies a skin returned by {@link #getPlayerSkin(UUID)} by the sha256 hash of its png.
+     *
+     * @return the hash or empty without a skin
+     */
+    public Optional<HashCode> getSkinHash(@Nullable final byte[] skinPng) {
+        return skinPng == null ? Optional.empty() : Optional.of(PNG_HASHES.get(skinPng, Hashing.sha256()::hashBytes));
+    }
+
+    /**
+     * Returns the player skin or null if the skin could not be fetched before the deadline.
+     * The returned future never completes exceptionally.
+     */
+    public CompletableFuture<byte[]> getPlayerSkin(@NonNull final UUID uuid, final long deadline, final TimeUnit unit) {
+        // The cached future is shared, we can only complete a dependent future on timeout
+        return getPlayerSkin(uuid)
+                .exceptionally(throwable -> null)
+                .completeOnTimeout(null, deadline, unit);
+    }
+
+    private static class UUIDExpiry implements Expiry<String, Optional<UUID>> {
+        private final long resolvedExpireNanos;
+        // The mojang api returns no uuid for unknown names and while it is down
+        private final long unknownExpireNanos;
+
+        UUIDExpiry(final Duration resolvedExpireAfter, final Duration unknownExpireAfter) {
+            this.resolvedExpireNanos = resolvedExpireAfter.toNanos();
+            this.unknownExpireNanos = unknownExpireAfter.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(final String key, final Optional<UUID> value, final long currentTime) {
+            return value.isPresent() ? this.resolvedExpireNanos : this.unknownExpireNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key,
+                                      final Optional<UUID> value,
+                                      final long currentTime,
+                                      final long currentDuration) {
+            return this.expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final String key,
+                                    final Optional<UUID> value,
+                                    final long currentTime,
+                                    final long currentDuration) {
+            return currentDuration;
+        }
     }
 }
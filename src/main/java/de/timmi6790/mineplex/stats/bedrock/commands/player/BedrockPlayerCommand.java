@@ -52,10 +52,15 @@ public class BedrockPlayerCommand extends BaseStatsCommand<BedrockPlayer> {
                                                                   final String playerName,
                                                                   final Set<Reason> filterReasons) {
         try {
-            return ((BedrockMpStatsApiClient) this.getApiClient()).getPlayerClient().getPlayerStats(
-                    playerName,
-                    false,
-                    filterReasons
+            return this.executeApiCall(
+                    () -> ((BedrockMpStatsApiClient) this.getApiClient()).getPlayerClient().getPlayerStats(
+                            playerName,
+                            false,
+                            filterReasons
+                    ),
+                    "bedrockPlayerStats",
+                    playerName.toLowerCase(Locale.ROOT),
+                    Set.copyOf(filterReasons)
             );
         } catch (final InvalidPlayerNameRestException exception) {
             ErrorMessageUtilities.sendInvalidPlayerNameMessage(commandParameters, playerName);
@@ -127,7 +132,7 @@ public class BedrockPlayerCommand extends BaseStatsCommand<BedrockPlayer> {
                         parserResult.getHeader(),
                         subHeader,
                         parserResult.getLeaderboard()
-                ).generatePicture(),
+                ),
                 String.format("%s-%s", String.join("-", parserResult.getHeader()), subHeader)
         );
     }
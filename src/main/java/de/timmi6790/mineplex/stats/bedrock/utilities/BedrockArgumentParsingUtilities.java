@@ -4,6 +4,7 @@ import de.timmi6790.discord_framework.module.modules.command.CommandParameters;
 import de.timmi6790.discord_framework.module.modules.command.exceptions.CommandReturnException;
 import de.timmi6790.minecraft.utilities.BedrockUtilities;
 import de.timmi6790.mineplex.stats.bedrock.settings.BedrockNameReplacementSetting;
+import de.timmi6790.mineplex.stats.common.settings.UserSettingsSnapshot;
 import de.timmi6790.mineplex.stats.common.utilities.ErrorMessageUtilities;
 import lombok.experimental.UtilityClass;
 
@@ -21,7 +22,10 @@ public class BedrockArgumentParsingUtilities {
 
         // Check if the setting is used or not
         if (playerName.equals(BedrockNameReplacementSetting.getKeyword())) {
-            playerName = commandParameters.getUserDb().getSettingOrDefault(BedrockNameReplacementSetting.class, playerName);
+            playerName = UserSettingsSnapshot.of(commandParameters).getSettingOrDefault(
+                    BedrockNameReplacementSetting.class,
+                    BedrockNameReplacementSetting.getKeyword()
+            );
         }
 
         if (BedrockUtilities.isValidName(playerName)) {
@@ -1,19 +1,80 @@
 package de.timmi6790.mineplex.stats.common;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import de.timmi6790.discord_framework.module.AbstractModule;
 import de.timmi6790.discord_framework.module.modules.command.CommandModule;
 import de.timmi6790.discord_framework.module.modules.config.ConfigModule;
 import de.timmi6790.discord_framework.module.modules.reactions.button.ButtonReactionModule;
 import de.timmi6790.discord_framework.module.modules.setting.SettingModule;
+import de.timmi6790.minecraft.skin.DiskSkinStore;
+import de.timmi6790.minecraft.skin.SkinRepository;
+import de.timmi6790.minecraft.utilities.JavaUtilities;
+import de.timmi6790.mineplex.stats.common.cache.PictureCache;
+import de.timmi6790.mineplex.stats.common.catalog.MetadataCatalog;
 import de.timmi6790.mineplex.stats.common.commands.info.AboutCommand;
+import de.timmi6790.mineplex.stats.common.concurrent.ApiCallLimiter;
+import de.timmi6790.mineplex.stats.common.concurrent.RenderExecutor;
+import de.timmi6790.mineplex.stats.common.concurrent.SingleFlight;
+import de.timmi6790.mineplex.stats.common.generators.picture.AbstractPicture;
+import de.timmi6790.mineplex.stats.common.generators.picture.PngEncoder;
+import de.timmi6790.mineplex.stats.common.generators.picture.RenderProfile;
 import de.timmi6790.mineplex.stats.common.settings.DisclaimerMessagesSetting;
 import de.timmi6790.mineplex.stats.common.settings.FilterReasonSetting;
 import de.timmi6790.mpstats.api.client.MpStatsApiClient;
+import de.timmi6790.mpstats.api.client.common.BaseApiClient;
+import de.timmi6790.mpstats.api.client.java.JavaMpStatsApiClient;
+import io.sentry.Sentry;
 import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.*;
+
+@Log4j2
 public class BaseMineplexStatsModule extends AbstractModule {
+    @Getter
+    private Config config;
     @Getter
     private MpStatsApiClient mpStatsApiClient;
+    @Getter
+    private PictureCache pictureCache;
+    @Getter
+    private RenderExecutor renderExecutor;
+    @Getter
+    private final SingleFlight apiSingleFlight = new SingleFlight();
+    private final Map<BaseApiClient<?>, MetadataCatalog> metadataCatalogs = new ConcurrentHashMap<>();
+    private final Map<BaseApiClient<?>, ApiCallLimiter> apiCallLimiters = new ConcurrentHashMap<>();
+    /**
+     * Virtual thread executor for the stats commands, null when they run on the command executor
+     */
+    @Getter
+    @Nullable
+    private ExecutorService commandExecutor;
+    /**
+     * Executes the api calls of commands that request multiple calls in parallel
+     */
+    @Getter
+    private ExecutorService apiExecutor;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                    .setNameFormat("mineplex-stats-scheduler-%d")
+                    .setDaemon(true)
+                    .build()
+    );
+    /**
+     * Refreshes the catalogs, their blocking api calls must not delay the tasks of the scheduler
+     */
+    private final ExecutorService catalogExecutor = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                    .setNameFormat("mineplex-stats-catalog-%d")
+                    .setDaemon(true)
+                    .build()
+    );
 
     public BaseMineplexStatsModule() {
         super("BaseMineplexStats");
@@ -28,12 +89,13 @@ public class BaseMineplexStatsModule extends AbstractModule {
 
     @Override
     public boolean onInitialize() {
-        final Config config = this.getModuleOrThrow(ConfigModule.class).registerAndGetConfig(this, new Config());
+        this.initializeExecution(this.getModuleOrThrow(ConfigModule.class).registerAndGetConfig(this, new Config()));
+        JavaUtilities.setSkinRepository(this.createSkinRepository());
 
-        this.mpStatsApiClient = new MpStatsApiClient(
-                config.getApi().getUrl(),
-                config.getApi().getKey()
-        );
+        final long metricsLogMinutes = this.config.getMetricsLogMinutes();
+        if (metricsLogMinutes > 0) {
+            this.scheduler.scheduleAtFixedRate(this::logMetrics, metricsLogMinutes, metricsLogMinutes, TimeUnit.MINUTES);
+        }
 
         this.getModuleOrThrow(SettingModule.class).registerSettings(
                 this,
@@ -48,4 +110,162 @@ public class BaseMineplexStatsModule extends AbstractModule {
 
         return true;
     }
+
+    /**
+     * Creates the api client, caches and executors used by the stats commands. Called on initialization, load tests call
+     * it directly to run the commands without a running bot.
+     */
+    @VisibleForTesting
+    public void initializeExecution(final Config config) {
+        this.config = config;
+
+        this.mpStatsApiClient = new MpStatsApiClient(
+                this.config.getApi().getUrl(),
+                this.config.getApi().getKey()
+        );
+
+        this.pictureCache = new PictureCache(this.config.getPictureCache().getMaximumMegaBytes() * 1024 * 1024);
+        AbstractPicture.setPngEncoder(
+                new PngEncoder(
+                        this.config.getPicture().getCompressionLevel(),
+                        this.config.getPicture().getPngFilter(),
+                        this.config.getPicture().getDeflateStrategy(),
+                        this.config.getPicture().isPaletteEnabled()
+                )
+        );
+        this.renderExecutor = new RenderExecutor(
+                this.config.getPicture().getRenderThreads(),
+                this.config.getPicture().getRenderQueueCapacity()
+        );
+        AbstractPicture.setRenderProfile(this.config.getPicture().getRenderProfile());
+        AbstractPicture.setGlyphAtlasEnabled(this.config.getPicture().isGlyphAtlasEnabled());
+        if (this.config.getPicture().getOverloadQueueDepth() > 0) {
+            this.scheduler.scheduleAtFixedRate(this::updateRenderProfile, 1, 1, TimeUnit.SECONDS);
+        }
+
+        if (this.config.getCommandExecution().isVirtualThreads()) {
+            this.commandExecutor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("stats-command-", 0).factory()
+            );
+            this.apiExecutor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("stats-api-", 0).factory()
+            );
+        } else {
+            // The api call limiter bounds the concurrent calls, more threads would only wait for permits
+            final int maximumConcurrentApiCalls = this.config.getCommandExecution().getMaximumConcurrentApiCalls();
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    maximumConcurrentApiCalls,
+                    maximumConcurrentApiCalls,
+                    60,
+                    TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    new ThreadFactoryBuilder()
+                            .setNameFormat("mineplex-stats-api-%d")
+                            .setDaemon(true)
+                            .build()
+            );
+            executor.allowCoreThreadTimeOut(true);
+            this.apiExecutor = executor;
+        }
+    }
+
+    /**
+     * Returns the catalog of the api client. The catalog is created and scheduled for refreshes on the first call.
+     */
+    public MetadataCatalog getMetadataCatalog(final BaseApiClient<?> apiClient) {
+        return this.metadataCatalogs.computeIfAbsent(apiClient, client -> {
+            final Config.CatalogConfig catalogConfig = this.config.getCatalog();
+            final MetadataCatalog catalog = new MetadataCatalog(
+                    client,
+                    // Groups are only available on java
+                    client instanceof JavaMpStatsApiClient,
+                    Duration.ofMinutes(catalogConfig.getMinimumRefreshMinutes()),
+                    this.catalogExecutor
+            );
+            this.scheduler.scheduleWithFixedDelay(
+                    () -> this.catalogExecutor.execute(catalog::refresh),
+                    0,
+                    catalogConfig.getRefreshMinutes(),
+                    TimeUnit.MINUTES
+            );
+            return catalog;
+        });
+    }
+
+    /**
+     * Returns the concurrency limiter of the api client.
+     */
+    public ApiCallLimiter getApiCallLimiter(final BaseApiClient<?> apiClient) {
+        return this.apiCallLimiters.computeIfAbsent(apiClient, client -> new ApiCallLimiter(
+                this.config.getCommandExecution().getMaximumConcurrentApiCalls(),
+                Duration.ofSeconds(this.config.getCommandExecution().getApiPermitTimeoutSeconds())
+        ));
+    }
+
+    /**
+     * Switches to the fast render profile while the render queue is overloaded and back once it drained to half the
+     * overload depth.
+     */
+    private void updateRenderProfile() {
+        final Config.PictureConfig pictureConfig = this.config.getPicture();
+        final int queueDepth = this.renderExecutor.getQueueDepth();
+        final RenderProfile currentProfile = AbstractPicture.getRenderProfile();
+        if (currentProfile != RenderProfile.FAST && queueDepth >= pictureConfig.getOverloadQueueDepth()) {
+            log.info("Render queue depth {}, switching to the fast render profile", queueDepth);
+            AbstractPicture.setRenderProfile(RenderProfile.FAST);
+        } else if (currentProfile != pictureConfig.getRenderProfile()
+                && pictureConfig.getOverloadQueueDepth() / 2 >= queueDepth) {
+            log.info("Render queue depth {}, switching back to the {} render profile", queueDepth, pictureConfig.getRenderProfile());
+            AbstractPicture.setRenderProfile(pictureConfig.getRenderProfile());
+        }
+    }
+
+    private void logMetrics() {
+        log.info(
+                "Api calls executed={} collapsed={} inFlight={}, picture cache {}",
+                this.apiSingleFlight.getExecutedCalls(),
+                this.apiSingleFlight.getCollapsedCalls(),
+                this.apiSingleFlight.getInFlightCalls(),
+                this.pictureCache.getStats()
+        );
+        log.info(
+                "Pictures rendered={} callerRendered={} avgRenderMs={} maxRenderMs={} avgQueueMs={} queueDepth={} maxQueueDepth={} activeRenders={}",
+                this.renderExecutor.getRenderedPictures(),
+                this.renderExecutor.getCallerRenderedPictures(),
+                this.renderExecutor.getAverageRenderMillis(),
+                this.renderExecutor.getMaximumRenderMillis(),
+                this.renderExecutor.getAverageQueueMillis(),
+                this.renderExecutor.getQueueDepth(),
+                this.renderExecutor.getMaximumQueueDepth(),
+                this.renderExecutor.getActiveRenders()
+        );
+        // The maximums are per log interval
+        this.renderExecutor.resetMaximums();
+    }
+
+    private SkinRepository createSkinRepository() {
+        final Config.SkinConfig skinConfig = this.config.getSkin();
+
+        DiskSkinStore diskStore = null;
+        if (!skinConfig.getDiskDirectory().isEmpty()) {
+            try {
+                diskStore = new DiskSkinStore(
+                        Paths.get(skinConfig.getDiskDirectory()),
+                        skinConfig.getDiskMaximumMegaBytes() * 1024 * 1024,
+                        Duration.ofHours(skinConfig.getDiskExpireHours())
+                );
+            } catch (final IOException e) {
+                log.error("Can't open the skin disk store, skins are only cached in memory", e);
+                Sentry.captureException(e);
+            }
+        }
+
+        return new SkinRepository(
+                skinConfig.getMemoryMegaBytes() * 1024 * 1024,
+                diskStore,
+                skinConfig.getMaximumConcurrentRequests(),
+                skinConfig.getRequestTimeoutMillis(),
+                Duration.ofSeconds(skinConfig.getNegativeExpireSeconds())
+        );
+    }
 }
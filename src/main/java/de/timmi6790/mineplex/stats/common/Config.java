@@ -1,11 +1,21 @@
 package de.timmi6790.mineplex.stats.common;
 
+import de.timmi6790.mineplex.stats.common.generators.picture.PngEncoder;
+import de.timmi6790.mineplex.stats.common.generators.picture.RenderProfile;
 import lombok.Data;
 
 @Data
 public class Config {
     private final NotificationChannel notificationChannel = new NotificationChannel();
     private final ApiConfig api = new ApiConfig();
+    private final LeaderboardCacheConfig leaderboardCache = new LeaderboardCacheConfig();
+    private final PictureCacheConfig pictureCache = new PictureCacheConfig();
+    private final PictureConfig picture = new PictureConfig();
+    private final SkinConfig skin = new SkinConfig();
+    private final CatalogConfig catalog = new CatalogConfig();
+    private final CommandExecutionConfig commandExecution = new CommandExecutionConfig();
+    // 0 to disable the periodic metrics log
+    private long metricsLogMinutes = 10;
 
     @Data
     public static class NotificationChannel {
@@ -18,4 +28,70 @@ public class Config {
         private String url = "https://mpstats.timmi6790.de";
         private String key = "";
     }
-}
\ No newline at end of file
+
+    @Data
+    public static class LeaderboardCacheConfig {
+        // The sum of all cached leaderboard rows
+        private long maximumRows = 250_000;
+        private long latestExpireSeconds = 90;
+        private long historicExpireMinutes = 30;
+    }
+
+    @Data
+    public static class PictureCacheConfig {
+        private long maximumMegaBytes = 64;
+    }
+
+    @Data
+    public static class PictureConfig {
+        // 0 - 9
+        private int compressionLevel = 6;
+        private PngEncoder.Filter pngFilter = PngEncoder.Filter.SUB;
+        private PngEncoder.DeflateStrategy deflateStrategy = PngEncoder.DeflateStrategy.FILTERED;
+        private boolean paletteEnabled = true;
+        // 0 for one render thread per available processor
+        private int renderThreads = 0;
+        // Commands render the picture themselves while the queue is full
+        private int renderQueueCapacity = 64;
+        private RenderProfile renderProfile = RenderProfile.BALANCED;
+        // Pictures are rendered with the fast profile while this many wait for a render thread, 0 to disable
+        private int overloadQueueDepth = 16;
+        // Draw the table text with pre rasterised glyphs instead of drawString
+        private boolean glyphAtlasEnabled = false;
+    }
+
+    @Data
+    public static class CommandExecutionConfig {
+        // Run the stats commands on virtual threads instead of the command executor
+        private boolean virtualThreads = false;
+        // Per api client
+        private int maximumConcurrentApiCalls = 16;
+        private long apiPermitTimeoutSeconds = 30;
+        // Commands that combine multiple api calls render the results that arrived until this deadline
+        private long fanOutDeadlineMillis = 10_000;
+    }
+
+    @Data
+    public static class CatalogConfig {
+        private long refreshMinutes = 60;
+        // Unknown arguments trigger a refresh, at most once per interval
+        private long minimumRefreshMinutes = 5;
+    }
+
+    @Data
+    public static class SkinConfig {
+        // Pictures are rendered without the skin after this deadline
+        private long deadlineMillis = 10_000;
+        // Raw png bytes of recently used skins
+        private long memoryMegaBytes = 16;
+        // Empty to disable the disk store
+        private String diskDirectory = "cache/skins";
+        private long diskMaximumMegaBytes = 512;
+        private long diskExpireHours = 24;
+        // Also the size of the skin loader pool
+        private int maximumConcurrentRequests = 4;
+        private int requestTimeoutMillis = 5_000;
+        // Missing skins and timeouts
+        private long negativeExpireSeconds = 60;
+    }
+}
@@ -0,0 +1,121 @@
+package de.timmi6790.mineplex.stats.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import de.timmi6790.mpstats.api.client.common.filter.models.Reason;
+import de.timmi6790.mpstats.api.client.common.leaderboard.models.LeaderboardPositionSave;
+import de.timmi6790.mpstats.api.client.common.player.models.Player;
+import lombok.Data;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Keeps recently requested leaderboard saves in memory, so that the pagination buttons only slice an already
+ * downloaded save instead of requesting the whole board again.
+ *
+ * @param <P> the player type of the leaderboard
+ */
+public class LeaderboardSaveCache<P extends Player> {
+    private final Cache<CacheKey, LeaderboardPositionSave<P>> cache;
+
+    public LeaderboardSaveCache(final long maximumRows,
+                                final Duration latestExpireAfter,
+                                final Duration historicExpireAfter) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumRows)
+                .weigher((final CacheKey key, final LeaderboardPositionSave<P> save) -> save.getEntries().size() + 1)
+                .expireAfter(new SaveExpiry<P>(latestExpireAfter.toNanos(), historicExpireAfter.toNanos()))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached save or requests it with the given loader. Empty results are not cached.
+     *
+     * @param requestedTime the explicit requested time or null for the latest save
+     */
+    public Optional<LeaderboardPositionSave<P>> getSave(final String game,
+                                                        final String stat,
+                                                        final String board,
+                                                        @Nullable final ZonedDateTime requestedTime,
+                                                        final Set<Reason> filterReasons,
+                                                        final Supplier<Optional<LeaderboardPositionSave<P>>> loader) {
+        // Keyed on the instant, the same time parsed in another zone is the same save
+        final CacheKey key = new CacheKey(
+                game.toLowerCase(Locale.ROOT),
+                stat.toLowerCase(Locale.ROOT),
+                board.toLowerCase(Locale.ROOT),
+                requestedTime == null ? null : requestedTime.toInstant(),
+                Set.copyOf(filterReasons)
+        );
+
+        final LeaderboardPositionSave<P> cachedSave = this.cache.getIfPresent(key);
+        if (cachedSave != null) {
+            return Optional.of(cachedSave);
+        }
+
+        final Optional<LeaderboardPositionSave<P>> saveOpt = loader.get();
+        saveOpt.ifPresent(save -> this.cache.put(key, save));
+        return saveOpt;
+    }
+
+    /**
+     * Hit, miss and eviction counters of the cache.
+     */
+    public CacheStats getStats() {
+        return this.cache.stats();
+    }
+
+    @Data
+    private static class CacheKey {
+        private final String game;
+        private final String stat;
+        private final String board;
+        @Nullable
+        private final Instant requestedTime;
+        private final Set<Reason> filterReasons;
+
+        public boolean isLatest() {
+            return this.requestedTime == null;
+        }
+    }
+
+    @Data
+    private static class SaveExpiry<P extends Player> implements Expiry<CacheKey, LeaderboardPositionSave<P>> {
+        private final long latestExpireNanos;
+        private final long historicExpireNanos;
+
+        @Override
+        public long expireAfterCreate(final CacheKey key,
+                                      final LeaderboardPositionSave<P> value,
+                                      final long currentTime) {
+            // The latest save is replaced by the api on each update, while historic saves never change
+            return key.isLatest() ? this.latestExpireNanos : this.historicExpireNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(final CacheKey key,
+                                      final LeaderboardPositionSave<P> value,
+                                      final long currentTime,
+                                      final long currentDuration) {
+            return this.expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final CacheKey key,
+                                    final LeaderboardPositionSave<P> value,
+                                    final long currentTime,
+                                    final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package de.timmi6790.mineplex.stats.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.common.hash.HashCode;
+import de.timmi6790.mineplex.stats.common.generators.picture.AbstractPicture;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Content addressed cache of encoded pictures, bounded by the size of the cached png bytes.
+ */
+public class PictureCache {
+    private final Cache<HashCode, byte[]> cache;
+
+    public PictureCache(final long maximumBytes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((final HashCode key, final byte[] value) -> value.length)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached png of an identical picture.
+     *
+     * @param contentHash the {@link AbstractPicture#getContentHash()} of the picture
+     * @return the cached png or null if no identical picture is cached
+     */
+    @Nullable
+    public byte[] getCachedPicture(final HashCode contentHash) {
+        return this.cache.getIfPresent(contentHash);
+    }
+
+    /**
+     * Renders the picture and caches it under the content hash.
+     *
+     * @param contentHash the {@link AbstractPicture#getContentHash()} of the picture
+     * @return the encoded png or null if the picture could not be rendered
+     */
+    @Nullable
+    public byte[] renderPicture(final HashCode contentHash, final AbstractPicture picture) {
+        // The picture is rendered outside of the cache, to not block other entries while rendering
+        final byte[] renderedPicture = picture.generatePicture();
+        if (renderedPicture != null) {
+            this.cache.put(contentHash, renderedPicture);
+        }
+        return renderedPicture;
+    }
+
+    public CacheStats getStats() {
+        return this.cache.stats();
+    }
+}
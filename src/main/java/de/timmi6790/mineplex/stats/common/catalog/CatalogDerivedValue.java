@@ -0,0 +1,56 @@
+package de.timmi6790.mineplex.stats.common.catalog;
+
+import lombok.Data;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Value computed from a {@link CatalogSnapshot}, that is only computed again when the catalog version changed.
+ *
+ * @param <T> the value type
+ */
+public class CatalogDerivedValue<T> {
+    private final MetadataCatalog catalog;
+    private final Function<CatalogSnapshot, T> factory;
+
+    private volatile VersionedValue<T> cachedValue;
+
+    /**
+     * @param factory creates the value of a snapshot, or returns null if the snapshot can't provide it
+     */
+    public CatalogDerivedValue(final MetadataCatalog catalog, final Function<CatalogSnapshot, T> factory) {
+        this.catalog = catalog;
+        this.factory = factory;
+    }
+
+    /**
+     * Returns the value of the current catalog version or empty if the catalog is not loaded yet or can't provide the
+     * value.
+     */
+    public Optional<T> get() {
+        final Optional<CatalogSnapshot> snapshotOpt = this.catalog.getSnapshot();
+        if (snapshotOpt.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final CatalogSnapshot snapshot = snapshotOpt.get();
+        final VersionedValue<T> currentValue = this.cachedValue;
+        if (currentValue != null && currentValue.getVersion() == snapshot.getVersion()) {
+            return Optional.ofNullable(currentValue.getValue());
+        }
+
+        // Concurrent callers could compute the same value twice, which is cheaper than locking
+        final T value = this.factory.apply(snapshot);
+        this.cachedValue = new VersionedValue<>(snapshot.getVersion(), value);
+        return Optional.ofNullable(value);
+    }
+
+    @Data
+    private static class VersionedValue<T> {
+        private final long version;
+        @Nullable
+        private final T value;
+    }
+}
@@ -0,0 +1,38 @@
+package de.timmi6790.mineplex.stats.common.catalog;
+
+import de.timmi6790.mpstats.api.client.common.board.models.Board;
+import de.timmi6790.mpstats.api.client.common.game.models.Game;
+import de.timmi6790.mpstats.api.client.common.group.models.Group;
+import de.timmi6790.mpstats.api.client.common.stat.models.Stat;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable state of a {@link MetadataCatalog} refresh.
+ */
+@Data
+public class CatalogSnapshot {
+    /**
+     * Only increased when the content changed
+     */
+    private final long version;
+    private final List<Game> games;
+    private final List<Group> groups;
+    private final FuzzyIndex<Game> gameIndex;
+    private final Map<String, FuzzyIndex<Stat>> gameStatIndices;
+    private final FuzzyIndex<Stat> statIndex;
+    private final FuzzyIndex<Board> boardIndex;
+    private final FuzzyIndex<Group> groupIndex;
+
+    /**
+     * Returns the stats of the game or empty if the game is unknown.
+     */
+    public Optional<FuzzyIndex<Stat>> getStatIndex(final String gameName) {
+        return this.gameIndex.find(gameName)
+                .map(game -> this.gameStatIndices.get(game.getGameName().toLowerCase(Locale.ROOT)));
+    }
+}
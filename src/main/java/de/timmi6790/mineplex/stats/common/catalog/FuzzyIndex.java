@@ -0,0 +1,143 @@
+package de.timmi6790.mineplex.stats.common.catalog;
+
+import lombok.Data;
+
+import java.util.*;
+
+/**
+ * Case insensitive name lookup with "did you mean" suggestions.
+ * <p>
+ * Candidates for a suggestion are all names sharing at least one character bigram with the input, they are ranked by
+ * their edit distance. This avoids calculating the distance against every name of the index.
+ *
+ * @param <T> the value type
+ */
+public class FuzzyIndex<T> {
+    private static final char BOUNDARY = '\0';
+
+    private final Map<String, T> values;
+    private final String[] names;
+    private final List<T> nameValues;
+    private final Map<Integer, int[]> bigramPostings;
+
+    /**
+     * @param namedValues all names and aliases of each value, later names don't replace already added ones
+     */
+    public FuzzyIndex(final Map<String, T> namedValues) {
+        this.values = new HashMap<>(namedValues.size());
+        for (final Map.Entry<String, T> entry : namedValues.entrySet()) {
+            this.values.putIfAbsent(entry.getKey().toLowerCase(Locale.ROOT), entry.getValue());
+        }
+
+        this.names = this.values.keySet().toArray(new String[0]);
+        this.nameValues = new ArrayList<>(this.names.length);
+        final Map<Integer, List<Integer>> postings = new HashMap<>();
+        for (int nameIndex = 0; this.names.length > nameIndex; nameIndex++) {
+            this.nameValues.add(this.values.get(this.names[nameIndex]));
+            for (final int bigram : getBigrams(this.names[nameIndex])) {
+                postings.computeIfAbsent(bigram, k -> new ArrayList<>()).add(nameIndex);
+            }
+        }
+
+        this.bigramPostings = new HashMap<>(postings.size());
+        for (final Map.Entry<Integer, List<Integer>> entry : postings.entrySet()) {
+            this.bigramPostings.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    private static Set<Integer> getBigrams(final String name) {
+        final Set<Integer> bigrams = new HashSet<>();
+        char previous = BOUNDARY;
+        for (int index = 0; name.length() > index; index++) {
+            final char current = name.charAt(index);
+            bigrams.add(previous << 16 | current);
+            previous = current;
+        }
+        bigrams.add(previous << 16 | BOUNDARY);
+        return bigrams;
+    }
+
+    private static int getDistance(final String first, final String second) {
+        int[] previousRow = new int[second.length() + 1];
+        int[] currentRow = new int[second.length() + 1];
+        for (int index = 0; previousRow.length > index; index++) {
+            previousRow[index] = index;
+        }
+
+        for (int firstIndex = 1; first.length() >= firstIndex; firstIndex++) {
+            currentRow[0] = firstIndex;
+            for (int secondIndex = 1; second.length() >= secondIndex; secondIndex++) {
+                final int cost = first.charAt(firstIndex - 1) == second.charAt(secondIndex - 1) ? 0 : 1;
+                currentRow[secondIndex] = Math.min(
+                        Math.min(currentRow[secondIndex - 1] + 1, previousRow[secondIndex] + 1),
+                        previousRow[secondIndex - 1] + cost
+                );
+            }
+
+            final int[] temp = previousRow;
+            previousRow = currentRow;
+            currentRow = temp;
+        }
+        return previousRow[second.length()];
+    }
+
+    public Optional<T> find(final String name) {
+        return Optional.ofNullable(this.values.get(name.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * Returns the most similar distinct values, the most similar first.
+     */
+    public List<T> getSimilar(final String name, final int limit) {
+        final String lowerName = name.toLowerCase(Locale.ROOT);
+
+        final int[] sharedBigrams = new int[this.names.length];
+        for (final int bigram : getBigrams(lowerName)) {
+            final int[] postings = this.bigramPostings.get(bigram);
+            if (postings != null) {
+                for (final int nameIndex : postings) {
+                    sharedBigrams[nameIndex]++;
+                }
+            }
+        }
+
+        final List<Candidate> candidates = new ArrayList<>();
+        for (int nameIndex = 0; this.names.length > nameIndex; nameIndex++) {
+            if (sharedBigrams[nameIndex] == 0) {
+                continue;
+            }
+
+            final String candidateName = this.names[nameIndex];
+            // Prefixes are as relevant as a single typo
+            final int distance = candidateName.startsWith(lowerName) ? 1 : getDistance(lowerName, candidateName);
+            if (Math.max(2, candidateName.length() / 2) >= distance) {
+                candidates.add(new Candidate(nameIndex, distance, sharedBigrams[nameIndex]));
+            }
+        }
+        candidates.sort(
+                Comparator.comparingInt(Candidate::getDistance)
+                        .thenComparing(Comparator.comparingInt(Candidate::getSharedBigrams).reversed())
+        );
+
+        // Aliases of the same value should only be suggested once
+        final Set<T> similarValues = new LinkedHashSet<>();
+        for (final Candidate candidate : candidates) {
+            if (similarValues.size() >= limit) {
+                break;
+            }
+            similarValues.add(this.nameValues.get(candidate.getNameIndex()));
+        }
+        return new ArrayList<>(similarValues);
+    }
+
+    public int size() {
+        return this.names.length;
+    }
+
+    @Data
+    private static class Candidate {
+        private final int nameIndex;
+        private final int distance;
+        private final int sharedBigrams;
+    }
+}
@@ -0,0 +1,176 @@
+package de.timmi6790.mineplex.stats.common.catalog;
+
+import de.timmi6790.mpstats.api.client.common.BaseApiClient;
+import de.timmi6790.mpstats.api.client.common.board.models.Board;
+import de.timmi6790.mpstats.api.client.common.game.models.Game;
+import de.timmi6790.mpstats.api.client.common.group.models.Group;
+import de.timmi6790.mpstats.api.client.common.leaderboard.models.Leaderboard;
+import de.timmi6790.mpstats.api.client.common.stat.models.Stat;
+import io.sentry.Sentry;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In memory copy of the games, stats, boards and groups of an api client, used to validate command arguments and to
+ * suggest similar names without an api request.
+ * <p>
+ * The catalog is empty until the first refresh completed, callers should let the api validate their arguments until
+ * then.
+ */
+@Log4j2
+public class MetadataCatalog {
+    @Getter
+    private final BaseApiClient<?> apiClient;
+    private final boolean groupsSupported;
+    private final Duration minimumRefreshInterval;
+    private final Executor refreshExecutor;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile CatalogSnapshot snapshot;
+    private volatile String contentFingerprint = "";
+    private volatile long lastRefreshNanos;
+
+    /**
+     * @param groupsSupported whether the api of the client has groups. Without groups support the catalog has no
+     *                        groups, with it a failed groups request fails the whole refresh
+     */
+    public MetadataCatalog(final BaseApiClient<?> apiClient,
+                           final boolean groupsSupported,
+                           final Duration minimumRefreshInterval,
+                           final Executor refreshExecutor) {
+        this.apiClient = apiClient;
+        this.groupsSupported = groupsSupported;
+        this.minimumRefreshInterval = minimumRefreshInterval;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    private static <T> void addNames(final Map<String, T> namedValues,
+                                     final T value,
+                                     final String name,
+                                     final Iterable<String> aliasNames) {
+        namedValues.putIfAbsent(name, value);
+        for (final String aliasName : aliasNames) {
+            namedValues.putIfAbsent(aliasName, value);
+        }
+    }
+
+    private static void appendFingerprint(final StringBuilder fingerprint, final Object... values) {
+        for (final Object value : values) {
+            if (value instanceof Collection) {
+                final Collection<?> collection = (Collection<?>) value;
+                fingerprint.append(collection.size()).append('[');
+                appendFingerprint(fingerprint, collection.toArray());
+                continue;
+            }
+
+            // The length prevents collisions between shifted values like ["ab", "c"] and ["a", "bc"]
+            final String text = String.valueOf(value);
+            fingerprint.append(text.length()).append(':').append(text);
+        }
+    }
+
+    public Optional<CatalogSnapshot> getSnapshot() {
+        return Optional.ofNullable(this.snapshot);
+    }
+
+    /**
+     * Schedules a refresh, unless the last refresh is more recent than the minimum refresh interval. Used when an
+     * argument is unknown, because it could be new since the last refresh.
+     */
+    public void requestRefresh() {
+        if (this.minimumRefreshInterval.toNanos() > System.nanoTime() - this.lastRefreshNanos) {
+            return;
+        }
+
+        this.refreshExecutor.execute(this::refresh);
+    }
+
+    public void refresh() {
+        if (!this.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            this.lastRefreshNanos = System.nanoTime();
+            this.loadSnapshot();
+        } catch (final Exception e) {
+            // The old snapshot stays valid, the api will validate new names until the next refresh
+            log.warn("Can't refresh the metadata catalog", e);
+            Sentry.captureException(e);
+        } finally {
+            this.refreshing.set(false);
+        }
+    }
+
+    private void loadSnapshot() {
+        final List<Game> games = new ArrayList<>(this.apiClient.getGameClient().getGames());
+        games.sort(Comparator.comparing(Game::getGameName));
+
+        // A failed request keeps the old snapshot, instead of replacing its groups with an empty list
+        final List<Group> groups = new ArrayList<>();
+        if (this.groupsSupported) {
+            groups.addAll(this.apiClient.getGroupClient().getGroups());
+            groups.sort(Comparator.comparing(Group::getGroupName));
+        }
+
+        final StringBuilder fingerprint = new StringBuilder();
+        appendFingerprint(fingerprint, games.size(), groups.size());
+        final Map<String, Game> gameNames = new HashMap<>();
+        final Map<String, Stat> statNames = new HashMap<>();
+        final Map<String, Board> boardNames = new HashMap<>();
+        final Map<String, Group> groupNames = new HashMap<>();
+        final Map<String, FuzzyIndex<Stat>> gameStatIndices = new HashMap<>();
+        for (final Game game : games) {
+            addNames(gameNames, game, game.getGameName(), game.getAliasNames());
+
+            final Map<String, Stat> gameStatNames = new HashMap<>();
+            final List<Leaderboard> leaderboards = this.apiClient.getLeaderboardClient().getLeaderboards(game.getGameName());
+            appendFingerprint(fingerprint, game.getGameName(), game.getCategoryName(), game.getAliasNames(), leaderboards.size());
+            for (final Leaderboard leaderboard : leaderboards) {
+                final Stat stat = leaderboard.getStat();
+                final Board board = leaderboard.getBoard();
+                addNames(gameStatNames, stat, stat.getStatName(), stat.getAliasNames());
+                addNames(statNames, stat, stat.getStatName(), stat.getAliasNames());
+                boardNames.putIfAbsent(board.getBoardName(), board);
+                appendFingerprint(fingerprint, stat.getStatName(), stat.getAliasNames(), board.getBoardName());
+            }
+            gameStatIndices.put(game.getGameName().toLowerCase(Locale.ROOT), new FuzzyIndex<>(gameStatNames));
+        }
+        for (final Group group : groups) {
+            addNames(groupNames, group, group.getGroupName(), group.getAliasNames());
+            appendFingerprint(fingerprint, group.getGroupName(), group.getAliasNames(), group.getGames().size());
+            for (final Game game : group.getGames()) {
+                appendFingerprint(fingerprint, game.getGameName());
+            }
+        }
+
+        // The version is used by caches built on top of the catalog, it should only change with the content
+        final String newFingerprint = fingerprint.toString();
+        final long version;
+        if (this.snapshot == null) {
+            version = 1;
+        } else if (newFingerprint.equals(this.contentFingerprint)) {
+            version = this.snapshot.getVersion();
+        } else {
+            version = this.snapshot.getVersion() + 1;
+        }
+
+        this.contentFingerprint = newFingerprint;
+        this.snapshot = new CatalogSnapshot(
+                version,
+                Collections.unmodifiableList(games),
+                Collections.unmodifiableList(groups),
+                new FuzzyIndex<>(gameNames),
+                gameStatIndices,
+                new FuzzyIndex<>(statNames),
+                new FuzzyIndex<>(boardNames),
+                new FuzzyIndex<>(groupNames)
+        );
+        log.debug("Loaded metadata catalog version {} with {} games and {} groups", version, games.size(), groups.size());
+    }
+}
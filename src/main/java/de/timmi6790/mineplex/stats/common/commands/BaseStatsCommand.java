@@ -1,5 +1,7 @@
 package de.timmi6790.mineplex.stats.common.commands;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.HashCode;
 import de.timmi6790.discord_framework.module.modules.command.AbstractCommand;
 import de.timmi6790.discord_framework.module.modules.command.CommandParameters;
 import de.timmi6790.discord_framework.module.modules.command.CommandResult;
@@ -10,10 +12,25 @@ import de.timmi6790.discord_framework.module.modules.reactions.button.actions.Bu
 import de.timmi6790.discord_framework.module.modules.reactions.button.actions.CommandButtonAction;
 import de.timmi6790.discord_framework.utilities.commons.StringUtilities;
 import de.timmi6790.discord_framework.utilities.discord.DiscordEmotes;
+import de.timmi6790.mineplex.stats.common.BaseMineplexStatsModule;
+import de.timmi6790.mineplex.stats.common.cache.PictureCache;
+import de.timmi6790.mineplex.stats.common.catalog.CatalogSnapshot;
+import de.timmi6790.mineplex.stats.common.catalog.FuzzyIndex;
+import de.timmi6790.mineplex.stats.common.catalog.MetadataCatalog;
+import de.timmi6790.mineplex.stats.common.concurrent.ApiBusyException;
+import de.timmi6790.mineplex.stats.common.concurrent.ApiCallLimiter;
+import de.timmi6790.mineplex.stats.common.concurrent.RenderExecutor;
+import de.timmi6790.mineplex.stats.common.concurrent.RequestKey;
+import de.timmi6790.mineplex.stats.common.concurrent.SingleFlight;
+import de.timmi6790.mineplex.stats.common.generators.picture.AbstractPicture;
 import de.timmi6790.mineplex.stats.common.utilities.ArrayUtilities;
 import de.timmi6790.mineplex.stats.common.utilities.ErrorMessageUtilities;
 import de.timmi6790.mpstats.api.client.common.BaseApiClient;
+import de.timmi6790.mpstats.api.client.common.board.models.Board;
+import de.timmi6790.mpstats.api.client.common.game.models.Game;
+import de.timmi6790.mpstats.api.client.common.group.models.Group;
 import de.timmi6790.mpstats.api.client.common.player.models.Player;
+import de.timmi6790.mpstats.api.client.common.stat.models.Stat;
 import de.timmi6790.mpstats.api.client.exception.exceptions.ApiOfflineException;
 import de.timmi6790.mpstats.api.client.exception.exceptions.InvalidApiKeyException;
 import de.timmi6790.mpstats.api.client.exception.exceptions.RateLimitException;
@@ -22,6 +39,7 @@ import io.sentry.Sentry;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
 import net.dv8tion.jda.api.entities.Emoji;
 import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.MessageChannel;
@@ -33,18 +51,39 @@ import net.dv8tion.jda.api.requests.restaction.MessageAction;
 import net.dv8tion.jda.api.utils.MarkdownUtil;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.InputStream;
+import java.time.ZonedDateTime;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
+@Log4j2
 public abstract class BaseStatsCommand<P extends Player> extends AbstractCommand {
+    private static final int SUGGESTION_LIMIT = 5;
+
     @Getter(AccessLevel.PROTECTED)
     private final ButtonReactionModule buttonReactionModule;
     @Getter(AccessLevel.PROTECTED)
     private final BaseApiClient<P> apiClient;
+    @Getter(AccessLevel.PROTECTED)
+    private final PictureCache pictureCache;
+    @Getter(AccessLevel.PROTECTED)
+    private final SingleFlight apiSingleFlight;
+    @Getter(AccessLevel.PROTECTED)
+    private final MetadataCatalog metadataCatalog;
+    private final ApiCallLimiter apiCallLimiter;
+    @Nullable
+    private final ExecutorService commandExecutor;
+    @Getter(AccessLevel.PROTECTED)
+    private final ExecutorService apiExecutor;
+    private final RenderExecutor renderExecutor;
 
     protected BaseStatsCommand(final BaseApiClient<P> apiClient,
                                @NonNull final String name,
@@ -57,12 +96,109 @@ public abstract class BaseStatsCommand<P extends Player> extends AbstractCommand
         this.apiClient = apiClient;
 
         this.buttonReactionModule = this.getModuleOrThrow(ButtonReactionModule.class);
+        final BaseMineplexStatsModule statsModule = this.getModuleOrThrow(BaseMineplexStatsModule.class);
+        this.pictureCache = statsModule.getPictureCache();
+        this.apiSingleFlight = statsModule.getApiSingleFlight();
+        this.metadataCatalog = statsModule.getMetadataCatalog(apiClient);
+        this.apiCallLimiter = statsModule.getApiCallLimiter(apiClient);
+        this.commandExecutor = statsModule.getCommandExecutor();
+        this.apiExecutor = statsModule.getApiExecutor();
+        this.renderExecutor = statsModule.getRenderExecutor();
+    }
+
+    /**
+     * Creates the command with the given modules instead of the modules of the running bot, used by load tests.
+     */
+    @VisibleForTesting
+    protected BaseStatsCommand(final BaseApiClient<P> apiClient,
+                               @NonNull final BaseMineplexStatsModule statsModule,
+                               @NonNull final ButtonReactionModule buttonReactionModule,
+                               @NonNull final String name,
+                               @NonNull final String category,
+                               @NonNull final String description,
+                               @NonNull final String syntax,
+                               final String... aliasNames) {
+        super(name, category, description, syntax, aliasNames);
+
+        this.apiClient = apiClient;
+
+        this.buttonReactionModule = buttonReactionModule;
+        this.pictureCache = statsModule.getPictureCache();
+        this.apiSingleFlight = statsModule.getApiSingleFlight();
+        this.metadataCatalog = statsModule.getMetadataCatalog(apiClient);
+        this.apiCallLimiter = statsModule.getApiCallLimiter(apiClient);
+        this.commandExecutor = statsModule.getCommandExecutor();
+        this.apiExecutor = statsModule.getApiExecutor();
+        this.renderExecutor = statsModule.getRenderExecutor();
+    }
+
+    /**
+     * Returns null when the user did not specify a time, to allow coalescing of requests for the latest data.
+     */
+    @Nullable
+    protected static ZonedDateTime getRequestedTime(final CommandParameters commandParameters,
+                                                    final int timeStartIndex,
+                                                    final ZonedDateTime zonedDateTime) {
+        return timeStartIndex >= commandParameters.getArgs().length ? null : zonedDateTime;
     }
 
     protected abstract CommandResult onStatsCommand(CommandParameters commandParameters);
 
+    /**
+     * Executes the api call or waits for an identical call of the same api client that is already in flight.
+     *
+     * @param arguments the normalised arguments of the call
+     */
+    protected <T> T executeApiCall(final Supplier<T> call, final String operation, final Object... arguments) {
+        final Object[] keyArguments = new Object[arguments.length + 1];
+        keyArguments[0] = this.apiClient;
+        System.arraycopy(arguments, 0, keyArguments, 1, arguments.length);
+        // Only the executing caller of a collapsed call needs a permit
+        return this.apiSingleFlight.execute(
+                RequestKey.of(operation, keyArguments),
+                () -> this.apiCallLimiter.execute(call)
+        );
+    }
+
+    /**
+     * Executes the api call like {@link #executeApiCall(Supplier, String, Object...)}, without blocking the current
+     * thread. Used by commands that request multiple calls in parallel.
+     */
+    protected <T> CompletableFuture<T> executeApiCallAsync(final Supplier<T> call,
+                                                           final String operation,
+                                                           final Object... arguments) {
+        return CompletableFuture.supplyAsync(
+                () -> this.executeApiCall(call, operation, arguments),
+                this.apiExecutor
+        );
+    }
+
     @Override
     protected final CommandResult onCommand(final CommandParameters commandParameters) {
+        if (this.commandExecutor == null) {
+            return this.executeStatsCommand(commandParameters);
+        }
+
+        // The command body mostly waits on sockets, a virtual thread doesn't block the command executor while waiting.
+        // All results are sent by the command itself, the returned result is only used for the command log
+        this.commandExecutor.execute(() -> {
+            try {
+                this.executeStatsCommand(commandParameters);
+            } catch (final CommandReturnException exception) {
+                // Normally sent by the command module, which never sees exceptions of this thread
+                exception.getEmbedBuilder().ifPresent(embedBuilder ->
+                        this.sendTimedMessage(commandParameters, embedBuilder)
+                );
+            } catch (final Exception exception) {
+                log.error("Error while executing command " + this.getName(), exception);
+                Sentry.captureException(exception);
+                this.sendErrorMessage(commandParameters, "Something went wrong while executing this command.");
+            }
+        });
+        return CommandResult.SUCCESS;
+    }
+
+    private CommandResult executeStatsCommand(final CommandParameters commandParameters) {
         try {
             return this.onStatsCommand(commandParameters);
         } catch (final ApiOfflineException exception) {
@@ -74,10 +210,88 @@ public abstract class BaseStatsCommand<P extends Player> extends AbstractCommand
         } catch (final UnknownApiException exception) {
             ErrorMessageUtilities.sendUnknownApiExceptionMessage(commandParameters, exception);
             Sentry.captureException(exception);
+        } catch (final ApiBusyException exception) {
+            ErrorMessageUtilities.sendApiBusyMessage(commandParameters);
         }
         return CommandResult.ERROR;
     }
 
+    private <T> void validateOrThrow(final CommandParameters commandParameters,
+                                     final String userArg,
+                                     final int argPos,
+                                     final String argName,
+                                     final FuzzyIndex<T> index,
+                                     final Function<T, String> valueToString) {
+        // Empty indices are not loaded, the api will validate the argument
+        if (index.size() == 0 || index.find(userArg).isPresent()) {
+            return;
+        }
+
+        // The argument could be new since the last refresh
+        this.metadataCatalog.requestRefresh();
+        this.throwArgumentCorrectionMessage(
+                commandParameters,
+                userArg,
+                argPos,
+                argName,
+                null,
+                new String[0],
+                index.getSimilar(userArg, SUGGESTION_LIMIT),
+                valueToString
+        );
+    }
+
+    /**
+     * Validates the game against the local catalog, without an api request.
+     */
+    protected void validateGameOrThrow(final CommandParameters commandParameters, final String game, final int argPos) {
+        final Optional<CatalogSnapshot> snapshotOpt = this.metadataCatalog.getSnapshot();
+        if (snapshotOpt.isPresent()) {
+            this.validateOrThrow(commandParameters, game, argPos, "game", snapshotOpt.get().getGameIndex(), Game::getGameName);
+        }
+    }
+
+    /**
+     * Validates the stat against the local catalog, without an api request.
+     *
+     * @param game the game of the stat or null to validate against the stats of all games
+     */
+    protected void validateStatOrThrow(final CommandParameters commandParameters,
+                                       @Nullable final String game,
+                                       final String stat,
+                                       final int argPos) {
+        final Optional<CatalogSnapshot> snapshotOpt = this.metadataCatalog.getSnapshot();
+        if (snapshotOpt.isEmpty()) {
+            return;
+        }
+
+        final Optional<FuzzyIndex<Stat>> statIndexOpt = game == null ?
+                Optional.of(snapshotOpt.get().getStatIndex()) : snapshotOpt.get().getStatIndex(game);
+        statIndexOpt.ifPresent(statIndex ->
+                this.validateOrThrow(commandParameters, stat, argPos, "stat", statIndex, Stat::getStatName)
+        );
+    }
+
+    /**
+     * Validates the board against the local catalog, without an api request.
+     */
+    protected void validateBoardOrThrow(final CommandParameters commandParameters, final String board, final int argPos) {
+        final Optional<CatalogSnapshot> snapshotOpt = this.metadataCatalog.getSnapshot();
+        if (snapshotOpt.isPresent()) {
+            this.validateOrThrow(commandParameters, board, argPos, "board", snapshotOpt.get().getBoardIndex(), Board::getBoardName);
+        }
+    }
+
+    /**
+     * Validates the group against the local catalog, without an api request.
+     */
+    protected void validateGroupOrThrow(final CommandParameters commandParameters, final String group, final int argPos) {
+        final Optional<CatalogSnapshot> snapshotOpt = this.metadataCatalog.getSnapshot();
+        if (snapshotOpt.isPresent()) {
+            this.validateOrThrow(commandParameters, group, argPos, "group", snapshotOpt.get().getGroupIndex(), Group::getGroupName);
+        }
+    }
+
     public <T> void throwArgumentCorrectionMessage(final CommandParameters commandParameters,
                                                    final String userArg,
                                                    final int argPos,
@@ -222,12 +436,68 @@ public abstract class BaseStatsCommand<P extends Player> extends AbstractCommand
         }
     }
 
+    /**
+     * Renders the picture on the render executor, identical pictures are served from the picture cache on the calling
+     * thread. When the render queue is full a platform command thread renders the picture itself.
+     */
+    protected CompletableFuture<byte[]> renderPicture(final AbstractPicture picture) {
+        final HashCode contentHash = picture.getContentHash();
+        final byte[] cachedPicture = this.pictureCache.getCachedPicture(contentHash);
+        if (cachedPicture != null) {
+            return CompletableFuture.completedFuture(cachedPicture);
+        }
+
+        return this.renderExecutor.render(() -> this.pictureCache.renderPicture(contentHash, picture));
+    }
+
+    private CompletableFuture<byte[]> renderReservedPicture(@Nullable final AbstractPicture picture,
+                                                            @Nullable final Throwable throwable) {
+        if (throwable != null) {
+            this.renderExecutor.releaseReservation();
+            return CompletableFuture.failedFuture(throwable);
+        }
+
+        try {
+            final HashCode contentHash = picture.getContentHash();
+            final byte[] cachedPicture = this.pictureCache.getCachedPicture(contentHash);
+            if (cachedPicture != null) {
+                this.renderExecutor.releaseReservation();
+                return CompletableFuture.completedFuture(cachedPicture);
+            }
+            return this.renderExecutor.renderReserved(() -> this.pictureCache.renderPicture(contentHash, picture));
+        } catch (final RuntimeException exception) {
+            this.renderExecutor.releaseReservation();
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+
+    /**
+     * Renders the picture once it is available. The render slot is taken on the command thread, before the picture is
+     * available. When the render queue is full the command thread waits for the picture and renders it like
+     * {@link #renderPicture(AbstractPicture)}.
+     */
+    protected CompletableFuture<byte[]> renderPicture(final CompletableFuture<? extends AbstractPicture> pictureFuture) {
+        if (this.renderExecutor.tryReserve()) {
+            return pictureFuture
+                    .handle(this::renderReservedPicture)
+                    .thenCompose(Function.identity());
+        }
+
+        final AbstractPicture picture;
+        try {
+            picture = pictureFuture.join();
+        } catch (final CompletionException | CancellationException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+        return this.renderPicture(picture);
+    }
+
     protected CommandResult sendPicture(final CommandParameters commandParameters,
-                                        @Nullable final InputStream inputStream,
+                                        final AbstractPicture picture,
                                         final String pictureName) {
         return this.sendPicture(
                 commandParameters,
-                inputStream,
+                this.renderPicture(picture),
                 pictureName,
                 null,
                 null
@@ -235,7 +505,7 @@ public abstract class BaseStatsCommand<P extends Player> extends AbstractCommand
     }
 
     protected CommandResult sendPicture(final CommandParameters commandParameters,
-                                        @Nullable final InputStream inputStream,
+                                        final AbstractPicture picture,
                                         final String pictureName,
                                         final Map<Button, ButtonAction> buttonActions) {
         // Handle empty actions
@@ -243,14 +513,14 @@ public abstract class BaseStatsCommand<P extends Player> extends AbstractCommand
         if (buttonActions.isEmpty()) {
             return this.sendPicture(
                     commandParameters,
-                    inputStream,
+                    picture,
                     pictureName
             );
         }
 
         return this.sendPicture(
                 commandParameters,
-                inputStream,
+                this.renderPicture(picture),
                 pictureName,
                 messageAction -> messageAction.setActionRows(ActionRow.of(buttonActions.keySet())),
                 message ->
@@ -264,22 +534,79 @@ public abstract class BaseStatsCommand<P extends Player> extends AbstractCommand
         );
     }
 
+    /**
+     * Sends the picture once it is available, without blocking the current thread.
+     */
+    protected CommandResult sendPicture(final CommandParameters commandParameters,
+                                        final CompletableFuture<? extends AbstractPicture> pictureFuture,
+                                        final String pictureName) {
+        return this.sendPicture(
+                commandParameters,
+                this.renderPicture(pictureFuture),
+                pictureName,
+                null,
+                null
+        );
+    }
+
+    private void handlePictureError(final CommandParameters commandParameters,
+                                    final String pictureName,
+                                    final Throwable throwable) {
+        log.error("Error while creating picture " + pictureName, throwable);
+        Sentry.captureException(throwable);
+        this.sendErrorMessage(commandParameters, "Error while sending picture.");
+    }
+
+    /**
+     * Sends the encoded picture once it is available, without blocking the current thread.
+     *
+     * @return the result of the send when the picture is already available, otherwise {@link CommandResult#SUCCESS}
+     * and failures are only reported to the user
+     */
+    protected CommandResult sendPicture(final CommandParameters commandParameters,
+                                        final CompletableFuture<byte[]> pictureFuture,
+                                        final String pictureName,
+                                        @Nullable final Function<MessageAction, MessageAction> messageActionFunction,
+                                        @Nullable final Consumer<Message> messageConsumer) {
+        // Cached and caller rendered pictures are already done
+        if (pictureFuture.isDone()) {
+            final byte[] picture;
+            try {
+                picture = pictureFuture.join();
+            } catch (final CompletionException | CancellationException exception) {
+                this.handlePictureError(commandParameters, pictureName, exception);
+                return CommandResult.ERROR;
+            }
+            return this.sendPicture(commandParameters, picture, pictureName, messageActionFunction, messageConsumer);
+        }
+
+        pictureFuture.whenComplete((picture, throwable) -> {
+            if (throwable != null) {
+                this.handlePictureError(commandParameters, pictureName, throwable);
+                return;
+            }
+
+            this.sendPicture(commandParameters, picture, pictureName, messageActionFunction, messageConsumer);
+        });
+        return CommandResult.SUCCESS;
+    }
+
     protected CommandResult sendPicture(final CommandParameters commandParameters,
-                                        @Nullable final InputStream inputStream,
+                                        @Nullable final byte[] picture,
                                         final String pictureName,
                                         @Nullable final Function<MessageAction, MessageAction> messageActionFunction,
                                         @Nullable final Consumer<Message> messageConsumer) {
-        if (inputStream != null) {
+        if (picture != null) {
             final MessageChannel channel = commandParameters.getLowestMessageChannel();
             final String fullPictureName = pictureName + ".png";
 
             if (messageActionFunction == null) {
-                channel.sendFile(inputStream, fullPictureName)
+                channel.sendFile(picture, fullPictureName)
                         .queue(messageConsumer);
             } else {
                 // We need to add an invisible message for the buttons to work
                 final MessageAction messageAction = channel.sendMessage("** **")
-                        .addFile(inputStream, fullPictureName);
+                        .addFile(picture, fullPictureName);
 
                 messageActionFunction.apply(messageAction)
                         .queue(messageConsumer);
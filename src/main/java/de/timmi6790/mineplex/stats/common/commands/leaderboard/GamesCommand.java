@@ -1,6 +1,7 @@
 package de.timmi6790.mineplex.stats.common.commands.leaderboard;
 
 import de.timmi6790.discord_framework.utilities.MultiEmbedBuilder;
+import de.timmi6790.mineplex.stats.common.catalog.CatalogDerivedValue;
 import de.timmi6790.mineplex.stats.common.commands.BaseStatsCommand;
 import de.timmi6790.mpstats.api.client.common.BaseApiClient;
 import de.timmi6790.mpstats.api.client.common.game.models.Game;
@@ -10,6 +11,9 @@ import lombok.NonNull;
 import java.util.*;
 
 public abstract class GamesCommand<P extends Player> extends BaseStatsCommand<P> {
+    // Category name to the sorted game names
+    private final CatalogDerivedValue<Map<String, String>> gameFields;
+
     protected GamesCommand(final BaseApiClient<P> apiClient,
                            @NonNull final String name,
                            @NonNull final String category,
@@ -17,9 +21,27 @@ public abstract class GamesCommand<P extends Player> extends BaseStatsCommand<P>
                            @NonNull final String syntax,
                            final String... aliasNames) {
         super(apiClient, name, category, description, syntax, aliasNames);
+
+        this.gameFields = new CatalogDerivedValue<>(
+                this.getMetadataCatalog(),
+                snapshot -> this.getGameFields(snapshot.getGames())
+        );
     }
 
-    protected MultiEmbedBuilder parseGames(final List<Game> games, final MultiEmbedBuilder messageBuilder) {
+    /**
+     * Adds the games grouped by category. The fields are only build again when the game catalog changed.
+     */
+    protected MultiEmbedBuilder addGameFields(final MultiEmbedBuilder messageBuilder) {
+        // Fall back to the api until the catalog is loaded
+        final Map<String, String> fields = this.gameFields.get()
+                .orElseGet(() -> this.getGameFields(this.getApiClient().getGameClient().getGames()));
+        for (final Map.Entry<String, String> field : fields.entrySet()) {
+            messageBuilder.addField(field.getKey(), field.getValue());
+        }
+        return messageBuilder;
+    }
+
+    private Map<String, String> getGameFields(final List<Game> games) {
         final Map<String, List<String>> sortedGames = new HashMap<>();
         for (final Game game : games) {
             sortedGames.computeIfAbsent(game.getCategoryName(), k -> new ArrayList<>()).add(game.getGameName());
@@ -27,16 +49,14 @@ public abstract class GamesCommand<P extends Player> extends BaseStatsCommand<P>
 
         final List<String> categories = new ArrayList<>(sortedGames.keySet());
         categories.sort(Comparator.naturalOrder());
+        final Map<String, String> fields = new LinkedHashMap<>(categories.size());
         for (final String category : categories) {
             final List<String> gameNames = sortedGames.get(category);
             gameNames.sort(Comparator.naturalOrder());
 
-            messageBuilder.addField(
-                    category,
-                    String.join(", ", gameNames)
-            );
+            fields.put(category, String.join(", ", gameNames));
         }
 
-        return messageBuilder;
+        return Collections.unmodifiableMap(fields);
     }
 }
@@ -7,8 +7,14 @@ import de.timmi6790.discord_framework.module.modules.command.exceptions.CommandR
 import de.timmi6790.discord_framework.module.modules.reactions.button.actions.ButtonAction;
 import de.timmi6790.discord_framework.module.modules.reactions.button.actions.CommandButtonAction;
 import de.timmi6790.discord_framework.utilities.discord.DiscordEmotes;
+import de.timmi6790.mineplex.stats.common.BaseMineplexStatsModule;
+import de.timmi6790.mineplex.stats.common.Config;
+import de.timmi6790.mineplex.stats.common.cache.LeaderboardSaveCache;
 import de.timmi6790.mineplex.stats.common.commands.BaseStatsCommand;
 import de.timmi6790.mineplex.stats.common.generators.picture.PictureTable;
+import de.timmi6790.mineplex.stats.common.leaderboard.LeaderboardPage;
+import de.timmi6790.mineplex.stats.common.leaderboard.LeaderboardRangeSource;
+import de.timmi6790.mineplex.stats.common.leaderboard.SaveSlicingRangeSource;
 import de.timmi6790.mineplex.stats.common.utilities.ArgumentParsingUtilities;
 import de.timmi6790.mineplex.stats.common.utilities.ArrayUtilities;
 import de.timmi6790.mineplex.stats.common.utilities.ErrorMessageUtilities;
@@ -29,9 +35,12 @@ import lombok.NonNull;
 import net.dv8tion.jda.api.entities.Emoji;
 import net.dv8tion.jda.api.interactions.components.Button;
 import net.dv8tion.jda.api.interactions.components.ButtonStyle;
+import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.function.Supplier;
 
 public abstract class LeaderboardCommand<P extends Player> extends BaseStatsCommand<P> {
     private static final int ROW_COUNT = 15;
@@ -42,6 +51,8 @@ public abstract class LeaderboardCommand<P extends Player> extends BaseStatsComm
 
     private final int positionIndex;
     private final String schemaName;
+    private final LeaderboardSaveCache<P> saveCache;
+    private final LeaderboardRangeSource<P> rangeSource;
 
     protected LeaderboardCommand(final BaseApiClient<P> apiClient,
                                  final int positionIndex,
@@ -60,29 +71,71 @@ public abstract class LeaderboardCommand<P extends Player> extends BaseStatsComm
 
         this.positionIndex = positionIndex;
         this.schemaName = schemaName;
+
+        final Config.LeaderboardCacheConfig cacheConfig = this.getModuleOrThrow(BaseMineplexStatsModule.class)
+                .getConfig()
+                .getLeaderboardCache();
+        this.saveCache = new LeaderboardSaveCache<>(
+                cacheConfig.getMaximumRows(),
+                Duration.ofSeconds(cacheConfig.getLatestExpireSeconds()),
+                Duration.ofMinutes(cacheConfig.getHistoricExpireMinutes())
+        );
+        this.rangeSource = new SaveSlicingRangeSource<>(this::loadSave);
     }
 
     protected abstract String getStat(CommandParameters commandParameters);
 
     protected abstract String getBoard(CommandParameters commandParameters);
 
-    protected LeaderboardPositionSave<P> getSave(final CommandParameters commandParameters,
-                                                 final String game,
-                                                 final String stat,
-                                                 final String board,
-                                                 final ZonedDateTime zonedDateTime,
-                                                 final Set<Reason> filterReasons) {
-        try {
-            final Optional<LeaderboardPositionSave<P>> leaderboardSaveOpt = this.getApiClient().getLeaderboardClient().getLeaderboardSave(
-                    game,
-                    stat,
-                    board,
-                    zonedDateTime,
-                    filterReasons
-            );
+    /**
+     * Requests the save through the save cache, identical concurrent api calls are collapsed.
+     */
+    private Optional<LeaderboardPositionSave<P>> loadSave(final String game,
+                                                          final String stat,
+                                                          final String board,
+                                                          @Nullable final ZonedDateTime requestedTime,
+                                                          final Set<Reason> filterReasons) {
+        final ZonedDateTime zonedDateTime = requestedTime == null ? ZonedDateTime.now() : requestedTime;
+        return this.saveCache.getSave(
+                game,
+                stat,
+                board,
+                requestedTime,
+                filterReasons,
+                () -> this.executeApiCall(
+                        () -> this.getApiClient().getLeaderboardClient().getLeaderboardSave(
+                                game,
+                                stat,
+                                board,
+                                zonedDateTime,
+                                filterReasons
+                        ),
+                        "leaderboardSave",
+                        game.toLowerCase(Locale.ROOT),
+                        stat.toLowerCase(Locale.ROOT),
+                        board.toLowerCase(Locale.ROOT),
+                        requestedTime,
+                        Set.copyOf(filterReasons)
+                )
+        );
+    }
 
-            if (leaderboardSaveOpt.isPresent()) {
-                return leaderboardSaveOpt.get();
+    /**
+     * Validates the arguments and translates the api exceptions and empty results into messages.
+     */
+    private <T> T requestLeaderboardData(final CommandParameters commandParameters,
+                                         final String game,
+                                         final String stat,
+                                         final String board,
+                                         final Supplier<Optional<T>> request) {
+        this.validateGameOrThrow(commandParameters, game, GAME_POSITION);
+        this.validateStatOrThrow(commandParameters, game, stat, STAT_POSITION);
+        this.validateBoardOrThrow(commandParameters, board, BOARD_POSITION);
+
+        try {
+            final Optional<T> dataOpt = request.get();
+            if (dataOpt.isPresent()) {
+                return dataOpt.get();
             }
 
             // SEND ERROR;
@@ -135,6 +188,65 @@ public abstract class LeaderboardCommand<P extends Player> extends BaseStatsComm
         throw new CommandReturnException(CommandResult.INVALID_ARGS);
     }
 
+    /**
+     * @param requestedTime the requested time or null for the latest save
+     */
+    protected LeaderboardPositionSave<P> getSave(final CommandParameters commandParameters,
+                                                 final String game,
+                                                 final String stat,
+                                                 final String board,
+                                                 @Nullable final ZonedDateTime requestedTime,
+                                                 final Set<Reason> filterReasons) {
+        return this.requestLeaderboardData(
+                commandParameters,
+                game,
+                stat,
+                board,
+                () -> this.loadSave(game, stat, board, requestedTime, filterReasons)
+        );
+    }
+
+    /**
+     * Returns only the rendered window of the save.
+     *
+     * @param requestedTime the requested time or null for the latest save
+     */
+    protected LeaderboardPage<P> getPage(final CommandParameters commandParameters,
+                                         final String game,
+                                         final String stat,
+                                         final String board,
+                                         @Nullable final ZonedDateTime requestedTime,
+                                         final Set<Reason> filterReasons,
+                                         final int startPosition) {
+        return this.requestLeaderboardData(
+                commandParameters,
+                game,
+                stat,
+                board,
+                () -> this.rangeSource.getPage(
+                        game,
+                        stat,
+                        board,
+                        requestedTime,
+                        filterReasons,
+                        startPosition,
+                        this.getMaxRenderCount() + 1
+                )
+        );
+    }
+
+    protected LeaderboardSaveCache<P> getSaveCache() {
+        return this.saveCache;
+    }
+
+    protected boolean isLatestSave(final CommandParameters commandParameters) {
+        return this.getTimeStartIndex() >= commandParameters.getArgs().length;
+    }
+
+    protected String getSchemaName() {
+        return this.schemaName;
+    }
+
     protected int getMaxRenderCount() {
         return ROW_COUNT;
     }
@@ -147,19 +259,16 @@ public abstract class LeaderboardCommand<P extends Player> extends BaseStatsComm
         return this.positionIndex + 1;
     }
 
-    protected String[][] parseLeaderboard(final LeaderboardPositionSave<P> leaderboardSave,
-                                          final int startPosition,
-                                          final int endPosition) {
-        final List<String[]> parsed = Lists.newArrayListWithCapacity(endPosition - startPosition + 1);
+    protected String[][] parseLeaderboard(final LeaderboardPage<P> leaderboardPage) {
+        final List<LeaderboardPositionEntry<P>> entries = leaderboardPage.getEntries();
+        final List<String[]> parsed = Lists.newArrayListWithCapacity(entries.size() + 1);
         parsed.add(new String[]{"Player", "Score", "Position"});
 
-        final List<LeaderboardPositionEntry<P>> entries = leaderboardSave.getEntries();
-        for (int index = startPosition - 1; endPosition > index; index++) {
-            final LeaderboardPositionEntry<P> row = entries.get(index);
+        for (final LeaderboardPositionEntry<P> row : entries) {
             parsed.add(
                     new String[]{
                             row.getPlayer().getName(),
-                            FormationUtilities.getFormattedScore(leaderboardSave.getLeaderboard().getStat(), row.getScore()),
+                            FormationUtilities.getFormattedScore(leaderboardPage.getLeaderboard().getStat(), row.getScore()),
                             FormationUtilities.getFormattedPosition(row.getPosition())
                     }
             );
@@ -294,44 +403,37 @@ public abstract class LeaderboardCommand<P extends Player> extends BaseStatsComm
         final String game = this.getGame(commandParameters);
         final String stat = this.getStat(commandParameters);
         final String board = this.getBoard(commandParameters);
-        int startPosition = this.getStartPosition(commandParameters);
+        final int startPosition = this.getStartPosition(commandParameters);
         final ZonedDateTime time = ArgumentParsingUtilities.getDateTimeOrThrow(commandParameters, this.getTimeStartIndex());
 
         final Set<Reason> filterReasons = this.getFilterReasons(commandParameters);
 
-        final LeaderboardPositionSave<P> leaderboardSave = this.getSave(
+        // Start positions outside of the board fall back to the last page
+        final LeaderboardPage<P> leaderboardPage = this.getPage(
                 commandParameters,
                 game,
                 stat,
                 board,
-                time,
-                filterReasons
+                this.isLatestSave(commandParameters) ? null : time,
+                filterReasons,
+                startPosition
         );
-        // Catch 0 entry leaderboards. This should never be the case but I wanna make sure here.
-        if (leaderboardSave.getEntries().isEmpty()) {
-            ErrorMessageUtilities.sendNotDataFoundMessage(commandParameters);
-            return CommandResult.SUCCESS;
-        }
-
-        // Fall back into the leaderboard if the selected start position with the entries is outside of the possible area
-        final int endPosition = this.getEndPosition(leaderboardSave, startPosition);
-        startPosition = Math.max(1, endPosition - this.getMaxRenderCount());
 
-        final String[][] parsedLeaderboard = this.parseLeaderboard(leaderboardSave, startPosition, endPosition);
+        final String[][] parsedLeaderboard = this.parseLeaderboard(leaderboardPage);
         final String[] header = new String[]{
-                leaderboardSave.getLeaderboard().getGame().getGameName(),
-                leaderboardSave.getLeaderboard().getStat().getStatName(),
-                leaderboardSave.getLeaderboard().getBoard().getBoardName()
+                leaderboardPage.getLeaderboard().getGame().getGameName(),
+                leaderboardPage.getLeaderboard().getStat().getStatName(),
+                leaderboardPage.getLeaderboard().getBoard().getBoardName()
         };
 
-        final String formattedSaveTime = FormationUtilities.getFormattedTime(leaderboardSave.getSaveTime());
+        final String formattedSaveTime = FormationUtilities.getFormattedTime(leaderboardPage.getSaveTime());
         final String subHeader = this.schemaName + " - " + formattedSaveTime;
 
         final Map<Button, ButtonAction> buttonActions = this.getButtonActions(
                 commandParameters,
-                startPosition,
-                endPosition,
-                leaderboardSave.getEntries().size()
+                leaderboardPage.getStartPosition(),
+                leaderboardPage.getEndPosition(),
+                leaderboardPage.getTotalEntries()
         );
         return this.sendPicture(
                 commandParameters,
@@ -339,7 +441,7 @@ public abstract class LeaderboardCommand<P extends Player> extends BaseStatsComm
                         header,
                         subHeader,
                         parsedLeaderboard
-                ).generatePicture(),
+                ),
                 String.format("%s-%s", String.join("-", header), subHeader),
                 buttonActions
         );
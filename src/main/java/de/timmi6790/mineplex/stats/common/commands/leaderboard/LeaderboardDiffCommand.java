@@ -0,0 +1,215 @@
+package de.timmi6790.mineplex.stats.common.commands.leaderboard;
+
+import com.google.common.collect.Lists;
+import de.timmi6790.discord_framework.module.modules.command.CommandParameters;
+import de.timmi6790.discord_framework.module.modules.command.CommandResult;
+import de.timmi6790.discord_framework.module.modules.reactions.button.actions.ButtonAction;
+import de.timmi6790.mineplex.stats.common.generators.picture.PictureTable;
+import de.timmi6790.mineplex.stats.common.models.LeaderboardDiffEntry;
+import de.timmi6790.mineplex.stats.common.utilities.ArgumentParsingUtilities;
+import de.timmi6790.mineplex.stats.common.utilities.ArrayUtilities;
+import de.timmi6790.mineplex.stats.common.utilities.ErrorMessageUtilities;
+import de.timmi6790.mineplex.stats.common.utilities.FormationUtilities;
+import de.timmi6790.mpstats.api.client.common.BaseApiClient;
+import de.timmi6790.mpstats.api.client.common.filter.models.Reason;
+import de.timmi6790.mpstats.api.client.common.leaderboard.models.LeaderboardPositionEntry;
+import de.timmi6790.mpstats.api.client.common.leaderboard.models.LeaderboardPositionSave;
+import de.timmi6790.mpstats.api.client.common.player.models.Player;
+import de.timmi6790.mpstats.api.client.common.stat.models.Stat;
+import lombok.NonNull;
+import net.dv8tion.jda.api.interactions.components.Button;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Compares the latest leaderboard save with the save at the given time, by default one day ago.
+ */
+public abstract class LeaderboardDiffCommand<P extends Player> extends LeaderboardCommand<P> {
+    private static final String ARROW_UP = "↑";
+    private static final String ARROW_DOWN = "↓";
+
+    protected LeaderboardDiffCommand(final BaseApiClient<P> apiClient,
+                                     final int positionIndex,
+                                     final String schemaName,
+                                     @NonNull final String name,
+                                     @NonNull final String category,
+                                     final String syntax,
+                                     final String... aliasNames) {
+        super(apiClient, positionIndex, schemaName, name, category, syntax, aliasNames);
+
+        this.setDescription("Check what changed on the leaderboard");
+    }
+
+    /**
+     * Identifies the same player in both saves.
+     */
+    protected abstract Object getPlayerKey(P player);
+
+    private static String getFormattedDelta(final String formattedDelta, final long delta) {
+        if (delta > 0) {
+            return ARROW_UP + " " + formattedDelta;
+        } else if (delta < 0) {
+            return ARROW_DOWN + " " + formattedDelta;
+        }
+        return "-";
+    }
+
+    /**
+     * Joins both saves on the player key. The old save is hashed once, which keeps the diff linear in the board size.
+     */
+    protected List<LeaderboardDiffEntry<P>> calculateDiff(final LeaderboardPositionSave<P> oldSave,
+                                                          final LeaderboardPositionSave<P> newSave) {
+        final List<LeaderboardPositionEntry<P>> oldEntries = oldSave.getEntries();
+        final Map<Object, LeaderboardPositionEntry<P>> oldEntriesByPlayer = new HashMap<>((int) (oldEntries.size() / 0.75F) + 1);
+        for (final LeaderboardPositionEntry<P> oldEntry : oldEntries) {
+            oldEntriesByPlayer.put(this.getPlayerKey(oldEntry.getPlayer()), oldEntry);
+        }
+
+        final List<LeaderboardPositionEntry<P>> newEntries = newSave.getEntries();
+        final List<LeaderboardDiffEntry<P>> diffEntries = new ArrayList<>(newEntries.size());
+        for (final LeaderboardPositionEntry<P> newEntry : newEntries) {
+            diffEntries.add(
+                    new LeaderboardDiffEntry<>(
+                            newEntry,
+                            oldEntriesByPlayer.get(this.getPlayerKey(newEntry.getPlayer()))
+                    )
+            );
+        }
+        return diffEntries;
+    }
+
+    protected String[][] parseDiff(final Stat stat,
+                                   final List<LeaderboardDiffEntry<P>> diffEntries,
+                                   final int startPosition,
+                                   final int endPosition) {
+        final List<String[]> parsed = Lists.newArrayListWithCapacity(endPosition - startPosition + 2);
+        parsed.add(new String[]{"Player", "Score", "Change", "Position", "Moved"});
+
+        for (int index = startPosition - 1; endPosition > index; index++) {
+            final LeaderboardDiffEntry<P> diffEntry = diffEntries.get(index);
+            final LeaderboardPositionEntry<P> entry = diffEntry.getEntry();
+
+            final String scoreChange;
+            final String positionChange;
+            if (diffEntry.isNew()) {
+                scoreChange = "New";
+                positionChange = "New";
+            } else {
+                final long scoreDelta = diffEntry.getScoreDelta();
+                final int positionDelta = diffEntry.getPositionDelta();
+                scoreChange = getFormattedDelta(FormationUtilities.getFormattedScore(stat, Math.abs(scoreDelta)), scoreDelta);
+                positionChange = getFormattedDelta(FormationUtilities.getFormattedNumber(Math.abs(positionDelta)), positionDelta);
+            }
+
+            parsed.add(
+                    new String[]{
+                            entry.getPlayer().getName(),
+                            FormationUtilities.getFormattedScore(stat, entry.getScore()),
+                            scoreChange,
+                            FormationUtilities.getFormattedPosition(entry.getPosition()),
+                            positionChange
+                    }
+            );
+        }
+
+        return parsed.toArray(new String[0][5]);
+    }
+
+    /**
+     * Adds the resolved default time to the arguments. Without it every page would resolve a new time and request the
+     * historic save again.
+     */
+    protected CommandParameters getPinnedTimeParameters(final CommandParameters commandParameters,
+                                                        final int startPosition,
+                                                        final ZonedDateTime sinceTime) {
+        final String[] args = ArrayUtilities.modifyArrayAtPosition(
+                ArrayUtilities.modifyArrayAtPosition(
+                        commandParameters.getArgs(),
+                        String.valueOf(startPosition),
+                        this.getPositionIndex()
+                ),
+                String.valueOf(sinceTime.toEpochSecond()),
+                this.getTimeStartIndex()
+        );
+        return CommandParameters.of(commandParameters, args);
+    }
+
+    @Override
+    protected CommandResult onStatsCommand(final CommandParameters commandParameters) {
+        final String game = this.getGame(commandParameters);
+        final String stat = this.getStat(commandParameters);
+        final String board = this.getBoard(commandParameters);
+        int startPosition = this.getStartPosition(commandParameters);
+        final boolean defaultSinceTime = this.isLatestSave(commandParameters);
+        // Truncated, repeated diff commands within the same minute share the old save
+        final ZonedDateTime sinceTime = defaultSinceTime ?
+                ZonedDateTime.now().minusDays(1).truncatedTo(ChronoUnit.MINUTES) :
+                ArgumentParsingUtilities.getDateTimeOrThrow(commandParameters, this.getTimeStartIndex());
+
+        final Set<Reason> filterReasons = this.getFilterReasons(commandParameters);
+
+        // Both saves go through the save cache, paging through the diff doesn't request them again
+        final LeaderboardPositionSave<P> newSave = this.getSave(
+                commandParameters,
+                game,
+                stat,
+                board,
+                null,
+                filterReasons
+        );
+        final LeaderboardPositionSave<P> oldSave = this.getSave(
+                commandParameters,
+                game,
+                stat,
+                board,
+                sinceTime,
+                filterReasons
+        );
+        if (newSave.getEntries().isEmpty()) {
+            ErrorMessageUtilities.sendNotDataFoundMessage(commandParameters);
+            return CommandResult.SUCCESS;
+        }
+
+        final int endPosition = this.getEndPosition(newSave, startPosition);
+        startPosition = Math.max(1, endPosition - this.getMaxRenderCount());
+
+        final List<LeaderboardDiffEntry<P>> diffEntries = this.calculateDiff(oldSave, newSave);
+        final String[][] parsedDiff = this.parseDiff(
+                newSave.getLeaderboard().getStat(),
+                diffEntries,
+                startPosition,
+                endPosition
+        );
+        final String[] header = new String[]{
+                newSave.getLeaderboard().getGame().getGameName(),
+                newSave.getLeaderboard().getStat().getStatName(),
+                newSave.getLeaderboard().getBoard().getBoardName()
+        };
+
+        final String subHeader = String.format(
+                "%s - %s to %s",
+                this.getSchemaName(),
+                FormationUtilities.getFormattedTime(oldSave.getSaveTime()),
+                FormationUtilities.getFormattedTime(newSave.getSaveTime())
+        );
+
+        final Map<Button, ButtonAction> buttonActions = this.getButtonActions(
+                defaultSinceTime ? this.getPinnedTimeParameters(commandParameters, startPosition, sinceTime) : commandParameters,
+                startPosition,
+                endPosition,
+                newSave.getEntries().size()
+        );
+        return this.sendPicture(
+                commandParameters,
+                new PictureTable(
+                        header,
+                        subHeader,
+                        parsedDiff
+                ),
+                String.format("%s-diff-%s", String.join("-", header), subHeader),
+                buttonActions
+        );
+    }
+}
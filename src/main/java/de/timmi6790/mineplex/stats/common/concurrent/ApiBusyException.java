@@ -0,0 +1,10 @@
+package de.timmi6790.mineplex.stats.common.concurrent;
+
+/**
+ * Thrown when no api call permit was available in time.
+ */
+public class ApiBusyException extends RuntimeException {
+    public ApiBusyException() {
+        super("No api call permit available");
+    }
+}
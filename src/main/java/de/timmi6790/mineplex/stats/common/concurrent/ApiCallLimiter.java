@@ -0,0 +1,45 @@
+package de.timmi6790.mineplex.stats.common.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Limits the concurrent calls against one api. Callers wait for a free permit up to the permit timeout and fail with
+ * an {@link ApiBusyException} afterwards.
+ */
+public class ApiCallLimiter {
+    private final Semaphore permits;
+    private final long permitTimeoutNanos;
+
+    public ApiCallLimiter(final int maximumConcurrentCalls, final Duration permitTimeout) {
+        this.permits = new Semaphore(maximumConcurrentCalls, true);
+        this.permitTimeoutNanos = permitTimeout.toNanos();
+    }
+
+    public <T> T execute(final Supplier<T> call) {
+        try {
+            if (!this.permits.tryAcquire(this.permitTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new ApiBusyException();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiBusyException();
+        }
+
+        try {
+            return call.get();
+        } finally {
+            this.permits.release();
+        }
+    }
+
+    public int getAvailablePermits() {
+        return this.permits.availablePermits();
+    }
+
+    public int getQueueLength() {
+        return this.permits.getQueueLength();
+    }
+}
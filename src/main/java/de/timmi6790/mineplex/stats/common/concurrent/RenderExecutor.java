@@ -0,0 +1,181 @@
+package de.timmi6790.mineplex.stats.common.concurrent;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Renders pictures on a fixed pool of platform threads, isolated from the threads that wait for api calls.
+ * <p>
+ * Every render holds one of the slots of the executor, one per render thread and queued picture. The slot is taken
+ * when the picture is admitted and released after it was rendered, so the queue can't grow beyond its capacity.
+ * When no slot is free, platform command threads render the picture themselves, which slows down new commands instead
+ * of queuing more pictures. Virtual threads wait for a free slot instead, rendering on them would pin their carrier
+ * thread and allocate new thread local encoder buffers for every render.
+ */
+public class RenderExecutor {
+    private final ThreadPoolExecutor executor;
+    private final Semaphore slots;
+
+    private final LongAdder renderedPictures = new LongAdder();
+    private final LongAdder callerRenderedPictures = new LongAdder();
+    private final LongAdder renderNanos = new LongAdder();
+    private final LongAccumulator maximumRenderNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder queueNanos = new LongAdder();
+    private final LongAccumulator maximumQueueDepth = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param threads       the render threads, 0 for one per available processor
+     * @param queueCapacity pictures that can wait for a render thread
+     */
+    public RenderExecutor(final int threads, final int queueCapacity) {
+        final int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        // A slot is released before its thread takes the next picture, the queue must fit every slot
+        this.slots = new Semaphore(poolSize + queueCapacity);
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(poolSize + queueCapacity),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("mineplex-stats-render-%d")
+                        .setDaemon(true)
+                        .build()
+        );
+    }
+
+    private <T> T measureRender(final Supplier<T> renderer, final long submitTime) {
+        final long startTime = System.nanoTime();
+        this.queueNanos.add(startTime - submitTime);
+        try {
+            return renderer.get();
+        } finally {
+            final long renderTime = System.nanoTime() - startTime;
+            this.renderNanos.add(renderTime);
+            this.maximumRenderNanos.accumulate(renderTime);
+            this.renderedPictures.increment();
+        }
+    }
+
+    /**
+     * Takes a slot for a picture that is rendered later with {@link #renderReserved(Supplier)}. Every taken slot must
+     * be rendered or returned with {@link #releaseReservation()}.
+     *
+     * @return true if a slot was free
+     */
+    public boolean tryReserve() {
+        return this.slots.tryAcquire();
+    }
+
+    /**
+     * Returns a slot of {@link #tryReserve()} that is not rendered, for example because the picture was cached.
+     */
+    public void releaseReservation() {
+        this.slots.release();
+    }
+
+    /**
+     * Queues the render of a picture that already holds a slot of {@link #tryReserve()}. The slot is released after the
+     * render.
+     */
+    public <T> CompletableFuture<T> renderReserved(final Supplier<T> renderer) {
+        final long submitTime = System.nanoTime();
+        final CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(
+                    () -> {
+                        try {
+                            return this.measureRender(renderer, submitTime);
+                        } finally {
+                            this.slots.release();
+                        }
+                    },
+                    this.executor
+            );
+        } catch (final RejectedExecutionException exception) {
+            this.slots.release();
+            return CompletableFuture.failedFuture(exception);
+        }
+        this.maximumQueueDepth.accumulate(this.executor.getQueue().size());
+        return future;
+    }
+
+    /**
+     * Queues the render when a slot is free. Otherwise platform threads render the picture themselves and virtual
+     * threads wait for a slot.
+     */
+    public <T> CompletableFuture<T> render(final Supplier<T> renderer) {
+        if (this.slots.tryAcquire()) {
+            return this.renderReserved(renderer);
+        }
+
+        if (Thread.currentThread().isVirtual()) {
+            try {
+                this.slots.acquire();
+            } catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return CompletableFuture.failedFuture(exception);
+            }
+            return this.renderReserved(renderer);
+        }
+
+        this.callerRenderedPictures.increment();
+        try {
+            return CompletableFuture.completedFuture(this.measureRender(renderer, System.nanoTime()));
+        } catch (final RuntimeException | Error exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+
+    public int getQueueDepth() {
+        return this.executor.getQueue().size();
+    }
+
+    /**
+     * Highest observed queue depth since the last {@link #resetMaximums()}.
+     */
+    public long getMaximumQueueDepth() {
+        return this.maximumQueueDepth.get();
+    }
+
+    public int getActiveRenders() {
+        return this.executor.getActiveCount();
+    }
+
+    public long getRenderedPictures() {
+        return this.renderedPictures.sum();
+    }
+
+    /**
+     * Pictures that were rendered by a platform command thread, because the queue was full.
+     */
+    public long getCallerRenderedPictures() {
+        return this.callerRenderedPictures.sum();
+    }
+
+    public long getAverageRenderMillis() {
+        final long renderedPictures = this.renderedPictures.sum();
+        return renderedPictures == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(this.renderNanos.sum() / renderedPictures);
+    }
+
+    /**
+     * Highest render time since the last {@link #resetMaximums()}.
+     */
+    public long getMaximumRenderMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.maximumRenderNanos.get());
+    }
+
+    public long getAverageQueueMillis() {
+        final long renderedPictures = this.renderedPictures.sum();
+        return renderedPictures == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(this.queueNanos.sum() / renderedPictures);
+    }
+
+    public void resetMaximums() {
+        this.maximumQueueDepth.reset();
+        this.maximumRenderNanos.reset();
+    }
+}
@@ -0,0 +1,22 @@
+package de.timmi6790.mineplex.stats.common.concurrent;
+
+import lombok.Data;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Identifies an api call by its operation and arguments.
+ * <p>
+ * Arguments are compared by equals, callers should normalise them before, e.g. lower case names and null for the
+ * latest time.
+ */
+@Data
+public class RequestKey {
+    private final String operation;
+    private final List<Object> arguments;
+
+    public static RequestKey of(final String operation, final Object... arguments) {
+        return new RequestKey(operation, Arrays.asList(arguments));
+    }
+}
@@ -0,0 +1,79 @@
+package de.timmi6790.mineplex.stats.common.concurrent;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical calls into one. The first caller of a key executes the call, every caller that
+ * arrives while it is in flight waits for and receives the same result or exception.
+ * <p>
+ * Results are not kept after the call completed, caching is up to the caller.
+ */
+public class SingleFlight {
+    private final Map<RequestKey, CompletableFuture<Object>> inFlightCalls = new ConcurrentHashMap<>();
+
+    private final LongAdder executedCalls = new LongAdder();
+    private final LongAdder collapsedCalls = new LongAdder();
+
+    private static RuntimeException unwrapException(final CompletionException exception) {
+        final Throwable cause = exception.getCause();
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        // Checked exceptions that were thrown sneakily by the call
+        return exception;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(final RequestKey key, final Supplier<T> call) {
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        final CompletableFuture<Object> inFlightFuture = this.inFlightCalls.putIfAbsent(key, future);
+        if (inFlightFuture != null) {
+            this.collapsedCalls.increment();
+            try {
+                // The key contains the operation, which guarantees the result type
+                return (T) inFlightFuture.join();
+            } catch (final CompletionException exception) {
+                throw unwrapException(exception);
+            }
+        }
+
+        this.executedCalls.increment();
+        try {
+            final T result = call.get();
+            future.complete(result);
+            return result;
+        } catch (final Throwable exception) {
+            // Checked exceptions can be thrown sneakily, the waiting callers would otherwise block forever
+            future.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            this.inFlightCalls.remove(key, future);
+        }
+    }
+
+    /**
+     * Calls that were executed by this instance.
+     */
+    public long getExecutedCalls() {
+        return this.executedCalls.sum();
+    }
+
+    /**
+     * Calls that received the result of an identical in flight call.
+     */
+    public long getCollapsedCalls() {
+        return this.collapsedCalls.sum();
+    }
+
+    public int getInFlightCalls() {
+        return this.inFlightCalls.size();
+    }
+}
@@ -1,42 +1,181 @@
 package de.timmi6790.mineplex.stats.common.generators.picture;
 
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.sentry.Sentry;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import lombok.NonNull;
 import lombok.extern.log4j.Log4j2;
+import org.jetbrains.annotations.Nullable;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Log4j2
 public abstract class AbstractPicture {
     public static final Color COLOUR_DISCORD_DARK_MODE = new Color(54, 57, 63);
 
-    protected static final Graphics2D GD_TEST = new BufferedImage(1, 1, BufferedImage.TYPE_4BYTE_ABGR).createGraphics();
+    private static final HashFunction CONTENT_HASH_FUNCTION = Hashing.sha256();
 
-    public abstract InputStream generatePicture();
+    private static volatile PngEncoder pngEncoder = new PngEncoder(
+            6,
+            PngEncoder.Filter.SUB,
+            PngEncoder.DeflateStrategy.FILTERED,
+            true
+    );
+    private static volatile RenderProfile renderProfile = RenderProfile.QUALITY;
+    private static volatile boolean glyphAtlasEnabled = false;
+
+    public static PngEncoder getPngEncoder() {
+        return pngEncoder;
+    }
+
+    public static void setPngEncoder(@NonNull final PngEncoder pngEncoder) {
+        AbstractPicture.pngEncoder = pngEncoder;
+    }
+
+    public static RenderProfile getRenderProfile() {
+        return renderProfile;
+    }
+
+    /**
+     * Changes the hints of all pictures created afterwards. Only the shape antialiasing changes the output, it is part of
+     * the content hash of pictures that draw shapes. Other pictures stay cached when the profile changes.
+     */
+    public static void setRenderProfile(@NonNull final RenderProfile renderProfile) {
+        AbstractPicture.renderProfile = renderProfile;
+    }
+
+    public static boolean isGlyphAtlasEnabled() {
+        return glyphAtlasEnabled;
+    }
+
+    /**
+     * Draws the text of supported pictures with the pre rasterised glyphs of {@link GlyphAtlas}.
+     */
+    public static void setGlyphAtlasEnabled(final boolean glyphAtlasEnabled) {
+        AbstractPicture.glyphAtlasEnabled = glyphAtlasEnabled;
+    }
+
+    // Resolved on creation, the content hash and the render use the same profile even if the global profile changes
+    private final RenderProfile pictureRenderProfile = renderProfile;
+
+    /**
+     * Renders the picture as png.
+     *
+     * @return the encoded png or null if the encoding failed
+     */
+    @Nullable
+    public abstract byte[] generatePicture();
+
+    /**
+     * Adds everything that influences the rendered picture to the hasher.
+     */
+    protected abstract void hashContent(Hasher hasher);
+
+    /**
+     * Whether the picture draws shapes between {@link #beginShapes(Graphics2D)} and {@link #endShapes(Graphics2D)},
+     * which are the only part of the output that depends on the render profile.
+     */
+    protected boolean isDrawingShapes() {
+        return false;
+    }
+
+    /**
+     * Content address of the picture. Pictures with the same hash render the same png.
+     */
+    public HashCode getContentHash() {
+        final Hasher hasher = CONTENT_HASH_FUNCTION.newHasher();
+        this.hashString(hasher, this.getClass().getName());
+        // The other hints render identical pictures, tables stay cached while the fast profile is active
+        if (this.isDrawingShapes()) {
+            hasher.putBoolean(this.pictureRenderProfile.isShapeAntialiasing());
+        }
+        this.hashContent(hasher);
+        return hasher.hash();
+    }
+
+    protected void hashString(final Hasher hasher, final String value) {
+        // The length prevents collisions between shifted values like ["ab", "c"] and ["a", "bc"]
+        hasher.putInt(value.length());
+        hasher.putString(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Adds an encoded image, like a png, to the hasher. Images are identified by their encoded bytes, that way cached
+     * pictures never decode them.
+     *
+     * @param knownHash the sha256 hash of the encoded image if it is already known, or null to hash the encoded image
+     */
+    protected void hashEncodedImage(final Hasher hasher,
+                                    @Nullable final byte[] encodedImage,
+                                    @Nullable final HashCode knownHash) {
+        if (encodedImage == null) {
+            hasher.putBoolean(false);
+            return;
+        }
+
+        hasher.putBoolean(true);
+        final HashCode imageHash = knownHash == null ? CONTENT_HASH_FUNCTION.hashBytes(encodedImage) : knownHash;
+        hasher.putBytes(imageHash.asBytes());
+    }
+
+    /**
+     * Decodes an encoded image while the picture is rendered.
+     *
+     * @return the image or null if it can't be decoded
+     */
+    @Nullable
+    protected BufferedImage decodeImage(@Nullable final byte[] encodedImage) {
+        if (encodedImage == null) {
+            return null;
+        }
+
+        try (final InputStream in = new ByteArrayInputStream(encodedImage)) {
+            return ImageIO.read(in);
+        } catch (final IOException e) {
+            log.error("", e);
+            Sentry.captureException(e);
+            return null;
+        }
+    }
 
     protected int getTextWidth(final String text, final Font font) {
-        return GD_TEST.getFontMetrics(font).stringWidth(text);
+        return TextMeasurer.getTextWidth(text, font);
+    }
+
+    /**
+     * Creates the image to render into. Our pictures are always painted on an opaque background,
+     * that is why we don't need an alpha channel.
+     */
+    protected BufferedImage createImage(final int width, final int height) {
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+        if (log.isDebugEnabled()) {
+            final DataBuffer dataBuffer = image.getRaster().getDataBuffer();
+            log.debug(
+                    "Created {}x{} picture with {} raster bytes",
+                    width,
+                    height,
+                    (long) dataBuffer.getSize() * DataBuffer.getDataTypeSize(dataBuffer.getDataType()) / 8
+            );
+        }
+        return image;
     }
 
     protected Graphics2D getDiscordGraphics(final BufferedImage image) {
         final Graphics2D gd = image.createGraphics();
 
-        // Render hints
-        final RenderingHints renderingHints = new RenderingHints(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        renderingHints.put(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-        renderingHints.put(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_QUALITY);
-        renderingHints.put(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
-        renderingHints.put(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-        renderingHints.put(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_NORMALIZE);
-        renderingHints.put(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
-        gd.setRenderingHints(renderingHints);
+        gd.setRenderingHints(this.pictureRenderProfile.getRenderingHints());
 
         // Background
         gd.setPaint(COLOUR_DISCORD_DARK_MODE);
@@ -46,15 +185,43 @@ public abstract class AbstractPicture {
         return gd;
     }
 
-    protected InputStream convertToInputStream(final BufferedImage image) {
-        try (final ByteArrayOutputStream os = new ByteArrayOutputStream()) {
-            ImageIO.write(image, "png", os);
-            return new ByteArrayInputStream(os.toByteArray());
-        } catch (final IOException e) {
-            log.catching(e);
+    /**
+     * Draws the text onto an image that was created by {@link #createImage(int, int)} and painted by
+     * {@link #getDiscordGraphics(BufferedImage)}. Uses the glyph atlas when it is enabled and supports the text, the
+     * output is identical to {@link Graphics2D#drawString(String, int, int)} either way.
+     */
+    protected void drawText(final Graphics2D gd, final BufferedImage image, final String text, final int x, final int y) {
+        if (glyphAtlasEnabled
+                && gd.getPaint() instanceof Color
+                && ((Color) gd.getPaint()).getAlpha() == 0xFF
+                && gd.getComposite() == AlphaComposite.SrcOver
+                && gd.getTransform().isIdentity()
+                && GlyphAtlas.isSupportedImage(image)) {
+            final GlyphAtlas glyphAtlas = GlyphAtlas.getAtlas(gd.getFont());
+            if (glyphAtlas.canDraw(text)) {
+                glyphAtlas.drawString(image, text, x, y, (Color) gd.getPaint(), COLOUR_DISCORD_DARK_MODE);
+                return;
+            }
+        }
+
+        gd.drawString(text, x, y);
+    }
+
+    /**
+     * Applies the shape antialiasing of the render profile. Text should only be drawn after {@link #endShapes(Graphics2D)}.
+     */
+    protected void beginShapes(final Graphics2D gd) {
+        if (!this.pictureRenderProfile.isShapeAntialiasing()) {
+            gd.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
         }
+    }
+
+    protected void endShapes(final Graphics2D gd) {
+        gd.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    }
 
-        return null;
+    protected byte[] convertToBytes(final BufferedImage image) {
+        return pngEncoder.encode(image);
     }
 }
 
@@ -0,0 +1,292 @@
+package de.timmi6790.mineplex.stats.common.generators.picture;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBufferByte;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Antialiased latin-1 glyphs of one font, rasterised once and blitted directly into the raster of our pictures.
+ * <p>
+ * The glyphs are blended with the same arithmetic as the java2d antialiased glyph loops, the output is pixel identical
+ * to {@link Graphics2D#drawString(String, int, int)} with antialiasing and without fractional metrics.
+ */
+final class GlyphAtlas {
+    private static final int CACHED_CHARACTERS = 256;
+    // Rasterisation border around the pixel bounds, the coverage is trimmed afterwards
+    private static final int GLYPH_PADDING = 2;
+    private static final int BYTES_PER_PIXEL = 3;
+
+    private static final Map<Font, GlyphAtlas> ATLASES = new ConcurrentHashMap<>();
+
+    // Kerning, ligatures and transformations can't be represented by single glyphs
+    private final boolean simpleLayout;
+    private final boolean[] supported = new boolean[CACHED_CHARACTERS];
+    private final int[] advances = new int[CACHED_CHARACTERS];
+    // Start of the glyph in the atlas and the offset of its top left pixel to the pen position on the baseline
+    private final int[] atlasOffsets = new int[CACHED_CHARACTERS];
+    private final int[] widths = new int[CACHED_CHARACTERS];
+    private final int[] heights = new int[CACHED_CHARACTERS];
+    private final int[] offsetsX = new int[CACHED_CHARACTERS];
+    private final int[] offsetsY = new int[CACHED_CHARACTERS];
+    private final byte[] coverage;
+    private final int maximumWidth;
+    private volatile Sprites sprites;
+
+    private GlyphAtlas(final Font font) {
+        this.simpleLayout = !font.hasLayoutAttributes() && !font.isTransformed();
+        final FontRenderContext renderContext = new FontRenderContext(null, true, false);
+        final byte[][] glyphCoverages = new byte[CACHED_CHARACTERS][];
+
+        int atlasSize = 0;
+        int widestGlyph = 0;
+        for (int character = 0; CACHED_CHARACTERS > character; character++) {
+            // Control characters and missing glyphs are left to drawString
+            if (Character.isISOControl(character) || !font.canDisplay(character)) {
+                continue;
+            }
+
+            final String text = String.valueOf((char) character);
+            this.supported[character] = true;
+            this.advances[character] = (int) font.createGlyphVector(renderContext, text).getGlyphMetrics(0).getAdvanceX();
+
+            glyphCoverages[character] = this.rasteriseGlyph(font, renderContext, text, character);
+            this.atlasOffsets[character] = atlasSize;
+            atlasSize += glyphCoverages[character].length;
+            widestGlyph = Math.max(widestGlyph, this.widths[character]);
+        }
+
+        this.maximumWidth = widestGlyph;
+
+        // The rows of each glyph are stored next to each other, the blit reads the atlas sequentially
+        this.coverage = new byte[atlasSize];
+        for (int character = 0; CACHED_CHARACTERS > character; character++) {
+            final byte[] glyphCoverage = glyphCoverages[character];
+            if (glyphCoverage != null) {
+                System.arraycopy(glyphCoverage, 0, this.coverage, this.atlasOffsets[character], glyphCoverage.length);
+            }
+        }
+    }
+
+    /**
+     * (first * second) / 255 rounded, identical to the mul8table of java2d.
+     */
+    private static int multiply(final int first, final int second) {
+        final int product = first * second + 128;
+        return (product + (product >> 8)) >> 8;
+    }
+
+    static GlyphAtlas getAtlas(final Font font) {
+        return ATLASES.computeIfAbsent(font, GlyphAtlas::new);
+    }
+
+    /**
+     * @return the coverage of the glyph, trimmed to the pixels that are not empty
+     */
+    private byte[] rasteriseGlyph(final Font font,
+                                  final FontRenderContext renderContext,
+                                  final String text,
+                                  final int character) {
+        final Rectangle bounds = font.createGlyphVector(renderContext, text).getGlyphPixelBounds(0, renderContext, 0, 0);
+        final int cellWidth = bounds.width + GLYPH_PADDING * 2;
+        final int cellHeight = bounds.height + GLYPH_PADDING * 2;
+        final int originX = GLYPH_PADDING - bounds.x;
+        final int originY = GLYPH_PADDING - bounds.y;
+
+        // White on black, the gray value is the coverage
+        final BufferedImage cell = new BufferedImage(cellWidth, cellHeight, BufferedImage.TYPE_BYTE_GRAY);
+        final Graphics2D graphics = cell.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        graphics.setFont(font);
+        graphics.setPaint(Color.WHITE);
+        graphics.drawString(text, originX, originY);
+        graphics.dispose();
+        final byte[] cellCoverage = ((DataBufferByte) cell.getRaster().getDataBuffer()).getData();
+
+        int minimumX = cellWidth;
+        int minimumY = cellHeight;
+        int maximumX = -1;
+        int maximumY = -1;
+        for (int y = 0; cellHeight > y; y++) {
+            for (int x = 0; cellWidth > x; x++) {
+                if (cellCoverage[y * cellWidth + x] != 0) {
+                    minimumX = Math.min(minimumX, x);
+                    minimumY = Math.min(minimumY, y);
+                    maximumX = Math.max(maximumX, x);
+                    maximumY = Math.max(maximumY, y);
+                }
+            }
+        }
+
+        // Spaces have an advance, but no pixels
+        if (maximumX == -1) {
+            return new byte[0];
+        }
+
+        final int width = maximumX - minimumX + 1;
+        final int height = maximumY - minimumY + 1;
+        final byte[] glyphCoverage = new byte[width * height];
+        for (int row = 0; height > row; row++) {
+            System.arraycopy(cellCoverage, (minimumY + row) * cellWidth + minimumX, glyphCoverage, row * width, width);
+        }
+
+        this.widths[character] = width;
+        this.heights[character] = height;
+        this.offsetsX[character] = minimumX - originX;
+        this.offsetsY[character] = minimumY - originY;
+        return glyphCoverage;
+    }
+
+    /**
+     * Only rasters like the ones of {@link AbstractPicture#createImage(int, int)} can be written directly.
+     */
+    static boolean isSupportedImage(final BufferedImage image) {
+        if (image.getType() != BufferedImage.TYPE_3BYTE_BGR) {
+            return false;
+        }
+
+        final WritableRaster raster = image.getRaster();
+        return raster.getSampleModelTranslateX() == 0
+                && raster.getSampleModelTranslateY() == 0
+                && raster.getSampleModel() instanceof ComponentSampleModel
+                && ((ComponentSampleModel) raster.getSampleModel()).getScanlineStride() == image.getWidth() * BYTES_PER_PIXEL;
+    }
+
+    boolean canDraw(final String text) {
+        if (!this.simpleLayout) {
+            return false;
+        }
+
+        for (int index = 0; text.length() > index; index++) {
+            final char character = text.charAt(index);
+            if (character >= CACHED_CHARACTERS || !this.supported[character]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writePixel(final byte[] target, final int position, final int rgb) {
+        target[position] = (byte) rgb;
+        target[position + 1] = (byte) (rgb >> 8);
+        target[position + 2] = (byte) (rgb >> 16);
+    }
+
+    private Sprites getSprites(final Color colour, final Color background) {
+        final Sprites sprites = this.sprites;
+        if (sprites != null && sprites.colour.equals(colour) && sprites.background.equals(background)) {
+            return sprites;
+        }
+
+        // Our pictures only use one combination, the last one is kept
+        final Sprites createdSprites = new Sprites(colour, background, this.coverage, this.maximumWidth);
+        this.sprites = createdSprites;
+        return createdSprites;
+    }
+
+    /**
+     * Draws the text with the pen starting at x on the baseline y. The caller has to make sure that the image is
+     * supported and the text can be drawn.
+     *
+     * @param background the colour the image was filled with
+     */
+    void drawString(final BufferedImage image,
+                    final String text,
+                    final int x,
+                    final int y,
+                    final Color colour,
+                    final Color background) {
+        final Sprites sprites = this.getSprites(colour, background);
+        final byte[] pixels = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+        final int imageWidth = image.getWidth();
+        final int imageHeight = image.getHeight();
+
+        int penX = x;
+        for (int index = 0; text.length() > index; index++) {
+            final char character = text.charAt(index);
+            final int glyphX = penX + this.offsetsX[character];
+            final int glyphY = y + this.offsetsY[character];
+            penX += this.advances[character];
+
+            final int width = this.widths[character];
+            final int startColumn = Math.max(0, -glyphX);
+            final int endColumn = Math.min(width, imageWidth - glyphX);
+            if (startColumn >= endColumn) {
+                continue;
+            }
+
+            final int startRow = Math.max(0, -glyphY);
+            final int endRow = Math.min(this.heights[character], imageHeight - glyphY);
+            final int spanBytes = (endColumn - startColumn) * BYTES_PER_PIXEL;
+            for (int row = startRow; endRow > row; row++) {
+                final int coverageOffset = this.atlasOffsets[character] + row * width + startColumn;
+                final int pixelOffset = ((glyphY + row) * imageWidth + glyphX + startColumn) * BYTES_PER_PIXEL;
+
+                // Untouched background rows are replaced by the pre blended glyph row, only overlapping glyphs are blended
+                if (Arrays.mismatch(pixels, pixelOffset, pixelOffset + spanBytes, sprites.backgroundRow, 0, spanBytes) == -1) {
+                    System.arraycopy(sprites.pixels, coverageOffset * BYTES_PER_PIXEL, pixels, pixelOffset, spanBytes);
+                } else {
+                    this.blendRow(pixels, pixelOffset, coverageOffset, endColumn - startColumn, sprites);
+                }
+            }
+        }
+    }
+
+    private void blendRow(final byte[] pixels,
+                          final int pixelOffset,
+                          final int coverageOffset,
+                          final int length,
+                          final Sprites sprites) {
+        for (int column = 0; length > column; column++) {
+            final int sourceMix = this.coverage[coverageOffset + column] & 0xFF;
+            if (sourceMix == 0) {
+                continue;
+            }
+
+            final int pixel = pixelOffset + column * BYTES_PER_PIXEL;
+            final int destinationMix = 0xFF - sourceMix;
+            pixels[pixel] = (byte) (multiply(destinationMix, pixels[pixel] & 0xFF) + multiply(sourceMix, sprites.colour.getBlue()));
+            pixels[pixel + 1] = (byte) (multiply(destinationMix, pixels[pixel + 1] & 0xFF) + multiply(sourceMix, sprites.colour.getGreen()));
+            pixels[pixel + 2] = (byte) (multiply(destinationMix, pixels[pixel + 2] & 0xFF) + multiply(sourceMix, sprites.colour.getRed()));
+        }
+    }
+
+    /**
+     * All glyphs of the atlas blended onto the background, in the BGR layout of our pictures.
+     */
+    private static final class Sprites {
+        private final Color colour;
+        private final Color background;
+        private final byte[] pixels;
+        private final byte[] backgroundRow;
+
+        private Sprites(final Color colour, final Color background, final byte[] coverage, final int maximumWidth) {
+            this.colour = colour;
+            this.background = background;
+
+            final int[] blended = new int[256];
+            for (int sourceMix = 0; 256 > sourceMix; sourceMix++) {
+                final int destinationMix = 0xFF - sourceMix;
+                blended[sourceMix] = (multiply(destinationMix, background.getRed()) + multiply(sourceMix, colour.getRed())) << 16
+                        | (multiply(destinationMix, background.getGreen()) + multiply(sourceMix, colour.getGreen())) << 8
+                        | (multiply(destinationMix, background.getBlue()) + multiply(sourceMix, colour.getBlue()));
+            }
+
+            this.pixels = new byte[coverage.length * BYTES_PER_PIXEL];
+            for (int index = 0; coverage.length > index; index++) {
+                writePixel(this.pixels, index * BYTES_PER_PIXEL, blended[coverage[index] & 0xFF]);
+            }
+
+            this.backgroundRow = new byte[maximumWidth * BYTES_PER_PIXEL];
+            for (int column = 0; maximumWidth > column; column++) {
+                writePixel(this.backgroundRow, column * BYTES_PER_PIXEL, background.getRGB());
+            }
+        }
+    }
+}
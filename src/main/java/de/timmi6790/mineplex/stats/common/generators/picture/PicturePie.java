@@ -0,0 +1,228 @@
+package de.timmi6790.mineplex.stats.common.generators.picture;
+
+import com.google.common.hash.Hasher;
+import de.timmi6790.mineplex.stats.common.models.PieSlice;
+import de.timmi6790.mineplex.stats.common.utilities.FontUtilities;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.awt.*;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+/**
+ * Pie or donut chart with the legend on the right side. The slices are drawn clockwise, starting at the top, in the
+ * given order.
+ */
+@ToString
+@EqualsAndHashCode(callSuper = true)
+public class PicturePie extends AbstractPicture {
+    private static final Font ARIAL = FontUtilities.loadFontFromFile("fonts/pictureTable.ttf", Font.TRUETYPE_FONT).orElse(FontUtilities.getRandomFont());
+
+    private static final Font FONT_HEADER = ARIAL.deriveFont(42F);
+    private static final Font FONT_SUB_HEADER = ARIAL.deriveFont(33F);
+    private static final Font FONT_LEGEND = ARIAL.deriveFont(26F);
+
+    // Series colours | RED, YELLOW_GREEN, GREEN, BLUE, PURPLE
+    private static final Color[] SLICE_COLOURS = {
+            new Color(0xFF0000),
+            new Color(0xADFF2F),
+            new Color(0x00FF00),
+            new Color(0x0000FF),
+            new Color(0xA020F0)
+    };
+    private static final Color COLOUR_EMPTY = Color.GRAY;
+
+    private static final int GAP_BORDER = 15;
+    private static final int GAP_HEADER = 10;
+    private static final int GAP_SUB_HEADER = 30;
+    private static final int GAP_PIE_LEGEND = 40;
+    private static final int GAP_LEGEND_ROW = 12;
+    private static final int GAP_LEGEND_BOX = 12;
+
+    private static final int PIE_DIAMETER = 380;
+    private static final double DONUT_HOLE_RATIO = 0.55;
+    private static final float SLICE_SEPARATOR_WIDTH = 2F;
+
+    private final String header;
+    private final String subHeader;
+    private final List<PieSlice> slices;
+    private final boolean donut;
+
+    public PicturePie(final String header,
+                      final String subHeader,
+                      final List<PieSlice> slices) {
+        this(header, subHeader, slices, false);
+    }
+
+    public PicturePie(final String header,
+                      final String subHeader,
+                      final List<PieSlice> slices,
+                      final boolean donut) {
+        this.header = header;
+        this.subHeader = subHeader;
+        this.slices = List.copyOf(slices);
+        this.donut = donut;
+    }
+
+    /**
+     * Spreads the slices over the gradient of all slice colours.
+     */
+    private static Color getSliceColour(final int index, final int sliceCount) {
+        if (sliceCount <= 1) {
+            return SLICE_COLOURS[0];
+        }
+
+        final double position = (double) index / (sliceCount - 1) * (SLICE_COLOURS.length - 1);
+        final int lowerIndex = Math.min((int) position, SLICE_COLOURS.length - 2);
+        final double ratio = position - lowerIndex;
+
+        final Color lower = SLICE_COLOURS[lowerIndex];
+        final Color upper = SLICE_COLOURS[lowerIndex + 1];
+        return new Color(
+                (int) Math.round(lower.getRed() + (upper.getRed() - lower.getRed()) * ratio),
+                (int) Math.round(lower.getGreen() + (upper.getGreen() - lower.getGreen()) * ratio),
+                (int) Math.round(lower.getBlue() + (upper.getBlue() - lower.getBlue()) * ratio)
+        );
+    }
+
+    private long getTotalValue() {
+        long totalValue = 0;
+        for (final PieSlice slice : this.slices) {
+            totalValue += Math.max(slice.getValue(), 0);
+        }
+        return totalValue;
+    }
+
+    private void drawPie(final Graphics2D gd, final int x, final int y) {
+        this.beginShapes(gd);
+
+        final long totalValue = this.getTotalValue();
+        if (totalValue == 0) {
+            gd.setPaint(COLOUR_EMPTY);
+            gd.fill(new Ellipse2D.Double(x, y, PIE_DIAMETER, PIE_DIAMETER));
+        } else {
+            // Angles are based on the running sum, that way rounding errors can't leave a gap at the end
+            final Stroke previousStroke = gd.getStroke();
+            gd.setStroke(new BasicStroke(SLICE_SEPARATOR_WIDTH));
+            long runningValue = 0;
+            for (int index = 0; this.slices.size() > index; index++) {
+                final long value = Math.max(this.slices.get(index).getValue(), 0);
+                final double startAngle = 360D * runningValue / totalValue;
+                runningValue += value;
+                final double endAngle = 360D * runningValue / totalValue;
+                if (value == 0) {
+                    continue;
+                }
+
+                // Java angles are counter clockwise starting at 3 o'clock
+                final Arc2D arc = new Arc2D.Double(
+                        x,
+                        y,
+                        PIE_DIAMETER,
+                        PIE_DIAMETER,
+                        90 - startAngle,
+                        startAngle - endAngle,
+                        Arc2D.PIE
+                );
+                gd.setPaint(getSliceColour(index, this.slices.size()));
+                gd.fill(arc);
+                // A full circle has no slice borders
+                if (totalValue != value) {
+                    gd.setPaint(COLOUR_DISCORD_DARK_MODE);
+                    gd.draw(arc);
+                }
+            }
+            gd.setStroke(previousStroke);
+        }
+
+        if (this.donut) {
+            final double holeDiameter = PIE_DIAMETER * DONUT_HOLE_RATIO;
+            final double holeOffset = (PIE_DIAMETER - holeDiameter) / 2;
+            gd.setPaint(COLOUR_DISCORD_DARK_MODE);
+            gd.fill(new Ellipse2D.Double(x + holeOffset, y + holeOffset, holeDiameter, holeDiameter));
+        }
+
+        this.endShapes(gd);
+    }
+
+    private void drawLegend(final Graphics2D gd, final int x, final int y) {
+        final int boxSize = FONT_LEGEND.getSize();
+        gd.setFont(FONT_LEGEND);
+
+        int currentY = y;
+        for (int index = 0; this.slices.size() > index; index++) {
+            gd.setPaint(getSliceColour(index, this.slices.size()));
+            gd.fillRect(x, currentY, boxSize, boxSize);
+
+            gd.setPaint(Color.WHITE);
+            // Text is drawn from the baseline, the box from the top
+            gd.drawString(this.slices.get(index).getLabel(), x + boxSize + GAP_LEGEND_BOX, currentY + boxSize - 4);
+            currentY += boxSize + GAP_LEGEND_ROW;
+        }
+    }
+
+    @Override
+    protected boolean isDrawingShapes() {
+        return true;
+    }
+
+    @Override
+    protected void hashContent(final Hasher hasher) {
+        this.hashString(hasher, this.header);
+        this.hashString(hasher, this.subHeader);
+        hasher.putBoolean(this.donut);
+
+        hasher.putInt(this.slices.size());
+        for (final PieSlice slice : this.slices) {
+            this.hashString(hasher, slice.getLabel());
+            hasher.putLong(slice.getValue());
+        }
+    }
+
+    @Override
+    public byte[] generatePicture() {
+        final int boxSize = FONT_LEGEND.getSize();
+        int widthLegendLabels = 0;
+        for (final PieSlice slice : this.slices) {
+            widthLegendLabels = Math.max(widthLegendLabels, this.getTextWidth(slice.getLabel(), FONT_LEGEND));
+        }
+        final int widthLegend = boxSize + GAP_LEGEND_BOX + widthLegendLabels;
+        final int heightLegend = this.slices.size() * (boxSize + GAP_LEGEND_ROW) - GAP_LEGEND_ROW;
+
+        final int widthHeader = this.getTextWidth(this.header, FONT_HEADER);
+        final int widthSubHeader = this.getTextWidth(this.subHeader, FONT_SUB_HEADER);
+        final int widthChart = PIE_DIAMETER + (this.slices.isEmpty() ? 0 : GAP_PIE_LEGEND + widthLegend);
+        final int widthContent = Math.max(Math.max(widthHeader, widthSubHeader), widthChart);
+
+        final int heightHeader = FONT_HEADER.getSize() + GAP_HEADER + FONT_SUB_HEADER.getSize() + GAP_SUB_HEADER;
+        final int heightChart = Math.max(PIE_DIAMETER, heightLegend);
+
+        final BufferedImage image = this.createImage(
+                widthContent + GAP_BORDER * 2,
+                GAP_BORDER + heightHeader + heightChart + GAP_BORDER
+        );
+        final Graphics2D gd = this.getDiscordGraphics(image);
+
+        // Headers, centered
+        int currentY = GAP_BORDER + FONT_HEADER.getSize();
+        gd.setFont(FONT_HEADER);
+        gd.drawString(this.header, GAP_BORDER + (widthContent - widthHeader) / 2, currentY);
+        currentY += GAP_HEADER + FONT_SUB_HEADER.getSize();
+        gd.setFont(FONT_SUB_HEADER);
+        gd.drawString(this.subHeader, GAP_BORDER + (widthContent - widthSubHeader) / 2, currentY);
+        currentY += GAP_SUB_HEADER;
+
+        // Chart and legend are vertically centered to each other
+        final int chartX = GAP_BORDER + (widthContent - widthChart) / 2;
+        this.drawPie(gd, chartX, currentY + (heightChart - PIE_DIAMETER) / 2);
+        if (!this.slices.isEmpty()) {
+            this.drawLegend(gd, chartX + PIE_DIAMETER + GAP_PIE_LEGEND, currentY + (heightChart - heightLegend) / 2);
+        }
+
+        gd.dispose();
+        return this.convertToBytes(image);
+    }
+}
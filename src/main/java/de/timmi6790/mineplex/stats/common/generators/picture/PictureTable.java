@@ -1,13 +1,15 @@
 package de.timmi6790.mineplex.stats.common.generators.picture;
 
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
 import de.timmi6790.mineplex.stats.common.utilities.FontUtilities;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import lombok.extern.log4j.Log4j2;
+import org.jetbrains.annotations.Nullable;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.InputStream;
 import java.util.Arrays;
 
 @ToString
@@ -34,7 +36,13 @@ public class PictureTable extends AbstractPicture {
     private final String[][] leaderboard;
     private final String subHeader;
 
-    private final BufferedImage skin;
+    @Nullable
+    @ToString.Exclude
+    private final byte[] skinPng;
+    @Nullable
+    private final HashCode skinHash;
+    @Nullable
+    private BufferedImage skin = null;
     private final int[] widthHeader;
     private final int[] widthLeaderboard;
     private int skinX = 0;
@@ -42,21 +50,28 @@ public class PictureTable extends AbstractPicture {
     private int maxWidth = 0;
     private int maxHeight = 0;
     private int widthHeaderMax = 0;
+    private int widthSubHeader = 0;
     private int widthDateMax = 0;
     private int widthLeaderboardMax = 0;
     private int currentHeightY = FONT_HEADER.getSize();
+    private BufferedImage image = null;
     private Graphics2D gd = null;
 
     public PictureTable(final String[] header,
                         final String subHeader,
                         final String[][] leaderboard) {
-        this(header, subHeader, leaderboard, null);
+        this(header, subHeader, leaderboard, null, null);
     }
 
+    /**
+     * @param skinPng  the png of the skin, it is only decoded when the table is rendered
+     * @param skinHash the sha256 hash of the png if it is already known, or null to hash the png
+     */
     public PictureTable(final String[] header,
                         final String subHeader,
                         final String[][] leaderboard,
-                        final BufferedImage skin) {
+                        @Nullable final byte[] skinPng,
+                        @Nullable final HashCode skinHash) {
         this.header = header.clone();
         this.leaderboard = leaderboard.clone();
         this.subHeader = subHeader;
@@ -64,7 +79,8 @@ public class PictureTable extends AbstractPicture {
         this.widthHeader = new int[this.header.length];
         this.widthLeaderboard = new int[this.leaderboard[0].length];
 
-        this.skin = skin;
+        this.skinPng = skinPng;
+        this.skinHash = skinHash;
     }
 
     private void drawRow(final String[] dataArray,
@@ -76,21 +92,44 @@ public class PictureTable extends AbstractPicture {
         for (int index = 0, xPos = GAP_X_BORDER;
              dataArray.length > index;
              xPos += widthArray[index] + increaseX, index++) {
-            this.gd.drawString(dataArray[index], xPos, this.currentHeightY);
+            this.drawText(this.gd, this.image, dataArray[index], xPos, this.currentHeightY);
         }
         this.currentHeightY += rowHeight;
     }
 
+    private int getTextWidth(final String text, final Font font, final int[] advances) {
+        int width = 0;
+        for (int index = 0; text.length() > index; index++) {
+            final char character = text.charAt(index);
+            if (character >= advances.length) {
+                return this.getTextWidth(text, font);
+            }
+
+            width += advances[character];
+        }
+        return width;
+    }
+
     private void calculateImageDimension() {
         // Header width
+        final int[] headerAdvances = TextMeasurer.getAdvances(FONT_HEADER);
         for (int index = 0; this.widthHeader.length > index; index++) {
-            this.widthHeader[index] = this.getTextWidth(this.header[index], FONT_HEADER);
+            this.widthHeader[index] = this.getTextWidth(this.header[index], FONT_HEADER, headerAdvances);
         }
+        this.widthSubHeader = this.getTextWidth(this.subHeader, FONT_SUB_HEADER, TextMeasurer.getAdvances(FONT_SUB_HEADER));
 
         // Leaderboard width
-        for (int columnIndex = 0; this.widthLeaderboard.length > columnIndex; columnIndex++) {
-            for (int rowIndex = 0; this.leaderboard.length > rowIndex; rowIndex++) {
-                final int width = this.getTextWidth(this.leaderboard[rowIndex][columnIndex], rowIndex == 0 ? FONT_LEADERBOARD_HEADER : FONT_LEADERBOARD);
+        final int[] leaderboardHeaderAdvances = TextMeasurer.getAdvances(FONT_LEADERBOARD_HEADER);
+        final int[] rowAdvances = TextMeasurer.getAdvances(FONT_LEADERBOARD);
+        for (int rowIndex = 0; this.leaderboard.length > rowIndex; rowIndex++) {
+            final boolean headerRow = rowIndex == 0;
+            final String[] row = this.leaderboard[rowIndex];
+            for (int columnIndex = 0; this.widthLeaderboard.length > columnIndex; columnIndex++) {
+                final int width = this.getTextWidth(
+                        row[columnIndex],
+                        headerRow ? FONT_LEADERBOARD_HEADER : FONT_LEADERBOARD,
+                        headerRow ? leaderboardHeaderAdvances : rowAdvances
+                );
 
                 if (width > this.widthLeaderboard[columnIndex]) {
                     this.widthLeaderboard[columnIndex] = width;
@@ -100,7 +139,7 @@ public class PictureTable extends AbstractPicture {
 
         // Width
         this.widthHeaderMax = Arrays.stream(this.widthHeader).sum() + GAP_WORD_MIN * (this.widthHeader.length - 1);
-        this.widthDateMax = this.getTextWidth(this.subHeader, FONT_SUB_HEADER) + GAP_WORD_MIN;
+        this.widthDateMax = this.widthSubHeader + GAP_WORD_MIN;
         this.widthLeaderboardMax = Arrays.stream(this.widthLeaderboard).sum() + GAP_WORD_MIN * (this.widthLeaderboard.length - 1);
 
         int widthMax = this.widthLeaderboardMax;
@@ -128,18 +167,41 @@ public class PictureTable extends AbstractPicture {
     }
 
     @Override
-    public InputStream generatePicture() {
+    protected void hashContent(final Hasher hasher) {
+        hasher.putInt(this.header.length);
+        for (final String value : this.header) {
+            this.hashString(hasher, value);
+        }
+
+        this.hashString(hasher, this.subHeader);
+
+        hasher.putInt(this.leaderboard.length);
+        for (final String[] row : this.leaderboard) {
+            hasher.putInt(row.length);
+            for (final String value : row) {
+                this.hashString(hasher, value);
+            }
+        }
+
+        this.hashEncodedImage(hasher, this.skinPng, this.skinHash);
+    }
+
+    @Override
+    public byte[] generatePicture() {
+        this.skin = this.decodeImage(this.skinPng);
         this.calculateImageDimension();
 
-        final BufferedImage image = new BufferedImage(this.maxWidth, this.maxHeight, BufferedImage.TYPE_4BYTE_ABGR);
-        this.gd = this.getDiscordGraphics(image);
+        this.image = this.createImage(this.maxWidth, this.maxHeight);
+        this.gd = this.getDiscordGraphics(this.image);
 
         // Header, center if only one entry
         if (this.header.length <= 1) {
             this.gd.setFont(FONT_HEADER);
-            this.gd.drawString(
+            this.drawText(
+                    this.gd,
+                    this.image,
                     this.header[0],
-                    GAP_X_BORDER + (Math.max(this.widthDateMax, this.widthLeaderboardMax) - this.getTextWidth(this.header[0], FONT_HEADER)) / 2,
+                    GAP_X_BORDER + (Math.max(this.widthDateMax, this.widthLeaderboardMax) - this.widthHeader[0]) / 2,
                     this.currentHeightY
             );
             this.currentHeightY += GAP_HEADER + FONT_HEADER.getSize();
@@ -157,9 +219,11 @@ public class PictureTable extends AbstractPicture {
 
         // Sub header
         this.gd.setFont(FONT_SUB_HEADER);
-        this.gd.drawString(
+        this.drawText(
+                this.gd,
+                this.image,
                 this.subHeader,
-                GAP_X_BORDER + (Math.max(this.widthDateMax, this.widthLeaderboardMax) - this.getTextWidth(this.subHeader, FONT_SUB_HEADER)) / 2,
+                GAP_X_BORDER + (Math.max(this.widthDateMax, this.widthLeaderboardMax) - this.widthSubHeader) / 2,
                 this.currentHeightY
         );
         this.currentHeightY += GAP_SUB_HEADER + FONT_LEADERBOARD_HEADER.getSize();
@@ -184,12 +248,12 @@ public class PictureTable extends AbstractPicture {
             );
         }
 
-        // Skin
+        // Skin, the transparent parts are composited onto the background
         if (this.skin != null) {
             this.gd.drawImage(this.skin, this.skinX, this.skinY, null);
         }
 
         this.gd.dispose();
-        return this.convertToInputStream(image);
+        return this.convertToBytes(this.image);
     }
 }
\ No newline at end of file
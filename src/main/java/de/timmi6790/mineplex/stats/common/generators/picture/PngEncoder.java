@@ -0,0 +1,406 @@
+package de.timmi6790.mineplex.stats.common.generators.picture;
+
+import lombok.Data;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.awt.image.BufferedImage;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Png encoder for our pictures.
+ * <p>
+ * Compared to ImageIO it allows to tune the deflate level and filter, reuses its work buffers per thread and writes
+ * the result into an exactly sized array. Pictures with at most 256 colours, like white text on a flat background,
+ * are written as indexed png.
+ */
+@Data
+public class PngEncoder {
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private static final byte[] CHUNK_HEADER = "IHDR".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CHUNK_PALETTE = "PLTE".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CHUNK_TRANSPARENCY = "tRNS".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CHUNK_DATA = "IDAT".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CHUNK_END = "IEND".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int COLOUR_TYPE_RGB = 2;
+    private static final int COLOUR_TYPE_INDEXED = 3;
+    private static final int COLOUR_TYPE_RGBA = 6;
+
+    private static final int MAX_PALETTE_SIZE = 256;
+    // Buffers above this size are not kept after the encoding
+    private static final int MAX_RETAINED_BUFFER_BYTES = 16 * 1024 * 1024;
+
+    private static final ThreadLocal<EncoderBuffers> BUFFERS = ThreadLocal.withInitial(EncoderBuffers::new);
+
+    private final int compressionLevel;
+    private final Filter filter;
+    private final DeflateStrategy deflateStrategy;
+    private final boolean paletteEnabled;
+
+    private static void writeInt(final byte[] target, final int position, final int value) {
+        target[position] = (byte) (value >>> 24);
+        target[position + 1] = (byte) (value >>> 16);
+        target[position + 2] = (byte) (value >>> 8);
+        target[position + 3] = (byte) value;
+    }
+
+    private static int writeChunk(final byte[] target,
+                                  int position,
+                                  final byte[] type,
+                                  final byte[] data,
+                                  final int dataLength,
+                                  final CRC32 crc) {
+        writeInt(target, position, dataLength);
+        position += 4;
+
+        System.arraycopy(type, 0, target, position, type.length);
+        System.arraycopy(data, 0, target, position + type.length, dataLength);
+
+        crc.reset();
+        crc.update(target, position, type.length + dataLength);
+        position += type.length + dataLength;
+
+        writeInt(target, position, (int) crc.getValue());
+        return position + 4;
+    }
+
+    private static int paeth(final int left, final int up, final int upLeft) {
+        final int estimate = left + up - upLeft;
+        final int distanceLeft = Math.abs(estimate - left);
+        final int distanceUp = Math.abs(estimate - up);
+        final int distanceUpLeft = Math.abs(estimate - upLeft);
+        if (distanceLeft <= distanceUp && distanceLeft <= distanceUpLeft) {
+            return left;
+        }
+        if (distanceUp <= distanceUpLeft) {
+            return up;
+        }
+        return upLeft;
+    }
+
+    public byte[] encode(final BufferedImage image) {
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final int pixelCount = width * height;
+
+        final EncoderBuffers buffers = BUFFERS.get();
+        try {
+            final int[] pixels = buffers.getPixels(pixelCount);
+            image.getRGB(0, 0, width, height, pixels, 0, width);
+
+            boolean hasAlpha = false;
+            for (int index = 0; pixelCount > index; index++) {
+                if ((pixels[index] >>> 24) != 0xFF) {
+                    hasAlpha = true;
+                    break;
+                }
+            }
+
+            final int paletteSize = this.paletteEnabled ? buffers.createPalette(pixels, pixelCount) : -1;
+            final int colourType;
+            final int rawLength;
+            if (paletteSize != -1) {
+                colourType = COLOUR_TYPE_INDEXED;
+                rawLength = this.writeIndexedScanlines(buffers, width, height);
+            } else {
+                colourType = hasAlpha ? COLOUR_TYPE_RGBA : COLOUR_TYPE_RGB;
+                rawLength = this.writeTrueColourScanlines(buffers, pixels, width, height, hasAlpha ? 4 : 3);
+            }
+
+            final int compressedLength = this.deflate(buffers, rawLength);
+            return this.writePng(buffers, width, height, colourType, paletteSize, hasAlpha, compressedLength);
+        } finally {
+            buffers.trim();
+        }
+    }
+
+    private int writeIndexedScanlines(final EncoderBuffers buffers, final int width, final int height) {
+        // Filters rarely help indexed pictures, the png specification recommends none for them
+        final byte[] indices = buffers.getIndices();
+        final byte[] raw = buffers.getRaw(height * (width + 1));
+        int position = 0;
+        for (int row = 0; height > row; row++) {
+            raw[position++] = (byte) Filter.NONE.getType();
+            System.arraycopy(indices, row * width, raw, position, width);
+            position += width;
+        }
+        return position;
+    }
+
+    private int writeTrueColourScanlines(final EncoderBuffers buffers,
+                                         final int[] pixels,
+                                         final int width,
+                                         final int height,
+                                         final int bytesPerPixel) {
+        final int rowLength = width * bytesPerPixel;
+        final byte[] raw = buffers.getRaw(height * (rowLength + 1));
+        byte[] previousRow = buffers.getRow(0, rowLength);
+        byte[] currentRow = buffers.getRow(1, rowLength);
+        Arrays.fill(previousRow, 0, rowLength, (byte) 0);
+
+        int position = 0;
+        for (int row = 0; height > row; row++) {
+            // Unfiltered bytes of the current row
+            for (int column = 0, pixelIndex = row * width, rowIndex = 0; width > column; column++, pixelIndex++) {
+                final int pixel = pixels[pixelIndex];
+                currentRow[rowIndex++] = (byte) (pixel >>> 16);
+                currentRow[rowIndex++] = (byte) (pixel >>> 8);
+                currentRow[rowIndex++] = (byte) pixel;
+                if (bytesPerPixel == 4) {
+                    currentRow[rowIndex++] = (byte) (pixel >>> 24);
+                }
+            }
+
+            raw[position++] = (byte) this.filter.getType();
+            switch (this.filter) {
+                case NONE -> System.arraycopy(currentRow, 0, raw, position, rowLength);
+                case SUB -> {
+                    for (int index = 0; rowLength > index; index++) {
+                        final int left = index >= bytesPerPixel ? currentRow[index - bytesPerPixel] : 0;
+                        raw[position + index] = (byte) (currentRow[index] - left);
+                    }
+                }
+                case UP -> {
+                    for (int index = 0; rowLength > index; index++) {
+                        raw[position + index] = (byte) (currentRow[index] - previousRow[index]);
+                    }
+                }
+                case PAETH -> {
+                    for (int index = 0; rowLength > index; index++) {
+                        final int left = index >= bytesPerPixel ? currentRow[index - bytesPerPixel] & 0xFF : 0;
+                        final int up = previousRow[index] & 0xFF;
+                        final int upLeft = index >= bytesPerPixel ? previousRow[index - bytesPerPixel] & 0xFF : 0;
+                        raw[position + index] = (byte) (currentRow[index] - paeth(left, up, upLeft));
+                    }
+                }
+            }
+            position += rowLength;
+
+            final byte[] swap = previousRow;
+            previousRow = currentRow;
+            currentRow = swap;
+        }
+        return position;
+    }
+
+    private int deflate(final EncoderBuffers buffers, final int rawLength) {
+        final Deflater deflater = buffers.getDeflater();
+        deflater.reset();
+        deflater.setLevel(this.compressionLevel);
+        deflater.setStrategy(this.deflateStrategy.getStrategy());
+        deflater.setInput(buffers.getRaw(rawLength), 0, rawLength);
+        deflater.finish();
+
+        byte[] compressed = buffers.getCompressed(rawLength / 4 + 1024);
+        int compressedLength = 0;
+        while (!deflater.finished()) {
+            if (compressedLength == compressed.length) {
+                compressed = buffers.growCompressed();
+            }
+            compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+        }
+        return compressedLength;
+    }
+
+    private byte[] writePng(final EncoderBuffers buffers,
+                            final int width,
+                            final int height,
+                            final int colourType,
+                            final int paletteSize,
+                            final boolean hasAlpha,
+                            final int compressedLength) {
+        final boolean indexed = colourType == COLOUR_TYPE_INDEXED;
+        final boolean transparencyChunk = indexed && hasAlpha;
+
+        int length = SIGNATURE.length + (12 + 13) + (12 + compressedLength) + 12;
+        if (indexed) {
+            length += 12 + paletteSize * 3;
+        }
+        if (transparencyChunk) {
+            length += 12 + paletteSize;
+        }
+
+        // The only allocation of the result
+        final byte[] png = new byte[length];
+        final CRC32 crc = buffers.getCrc();
+        System.arraycopy(SIGNATURE, 0, png, 0, SIGNATURE.length);
+        int position = SIGNATURE.length;
+
+        final byte[] header = new byte[13];
+        writeInt(header, 0, width);
+        writeInt(header, 4, height);
+        header[8] = 8; // Bit depth
+        header[9] = (byte) colourType;
+        // Compression, filter and interlace methods are all 0
+        position = writeChunk(png, position, CHUNK_HEADER, header, header.length, crc);
+
+        if (indexed) {
+            final int[] palette = buffers.getPalette();
+            final byte[] paletteData = new byte[paletteSize * 3];
+            for (int index = 0, dataIndex = 0; paletteSize > index; index++) {
+                paletteData[dataIndex++] = (byte) (palette[index] >>> 16);
+                paletteData[dataIndex++] = (byte) (palette[index] >>> 8);
+                paletteData[dataIndex++] = (byte) palette[index];
+            }
+            position = writeChunk(png, position, CHUNK_PALETTE, paletteData, paletteData.length, crc);
+
+            if (transparencyChunk) {
+                final byte[] alphaData = new byte[paletteSize];
+                for (int index = 0; paletteSize > index; index++) {
+                    alphaData[index] = (byte) (palette[index] >>> 24);
+                }
+                position = writeChunk(png, position, CHUNK_TRANSPARENCY, alphaData, alphaData.length, crc);
+            }
+        }
+
+        position = writeChunk(png, position, CHUNK_DATA, buffers.getCompressed(compressedLength), compressedLength, crc);
+        writeChunk(png, position, CHUNK_END, new byte[0], 0, crc);
+        return png;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Filter {
+        NONE(0),
+        SUB(1),
+        UP(2),
+        PAETH(4);
+
+        private final int type;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum DeflateStrategy {
+        DEFAULT(Deflater.DEFAULT_STRATEGY),
+        FILTERED(Deflater.FILTERED),
+        HUFFMAN_ONLY(Deflater.HUFFMAN_ONLY);
+
+        private final int strategy;
+    }
+
+    /**
+     * Work buffers of a single thread. They grow to the biggest picture seen and are reused between encodings.
+     */
+    private static class EncoderBuffers {
+        private static final int PALETTE_TABLE_SIZE = 1024;
+        private static final long USED_SLOT = 1L << 32;
+
+        @Getter
+        private final Deflater deflater = new Deflater();
+        @Getter
+        private final CRC32 crc = new CRC32();
+        @Getter
+        private final int[] palette = new int[MAX_PALETTE_SIZE];
+        private final long[] paletteTable = new long[PALETTE_TABLE_SIZE];
+        private final byte[][] rows = new byte[2][0];
+
+        private int[] pixels = new int[0];
+        @Getter
+        private byte[] indices = new byte[0];
+        private byte[] raw = new byte[0];
+        private byte[] compressed = new byte[0];
+
+        int[] getPixels(final int size) {
+            if (this.pixels.length < size) {
+                this.pixels = new int[size];
+            }
+            return this.pixels;
+        }
+
+        byte[] getRaw(final int size) {
+            if (this.raw.length < size) {
+                this.raw = new byte[size];
+            }
+            return this.raw;
+        }
+
+        byte[] getRow(final int index, final int size) {
+            if (this.rows[index].length < size) {
+                this.rows[index] = new byte[size];
+            }
+            return this.rows[index];
+        }
+
+        byte[] getCompressed(final int size) {
+            if (this.compressed.length < size) {
+                this.compressed = new byte[size];
+            }
+            return this.compressed;
+        }
+
+        byte[] growCompressed() {
+            this.compressed = Arrays.copyOf(this.compressed, this.compressed.length * 2);
+            return this.compressed;
+        }
+
+        /**
+         * Collects the colours of the picture and writes the palette index of each pixel.
+         *
+         * @return the palette size or -1 if the picture has too many colours
+         */
+        int createPalette(final int[] pixels, final int pixelCount) {
+            if (this.indices.length < pixelCount) {
+                this.indices = new byte[pixelCount];
+            }
+            Arrays.fill(this.paletteTable, 0L);
+
+            int paletteSize = 0;
+            int lastPixel = 0;
+            int lastIndex = -1;
+            for (int index = 0; pixelCount > index; index++) {
+                final int pixel = pixels[index];
+                // Most pixels are part of a run of the background colour
+                if (pixel == lastPixel && lastIndex != -1) {
+                    this.indices[index] = (byte) lastIndex;
+                    continue;
+                }
+
+                int slot = (pixel * 0x9E3779B9 >>> 22) & (PALETTE_TABLE_SIZE - 1);
+                while (true) {
+                    final long entry = this.paletteTable[slot];
+                    if (entry == 0) {
+                        if (paletteSize == MAX_PALETTE_SIZE) {
+                            return -1;
+                        }
+
+                        this.palette[paletteSize] = pixel;
+                        this.paletteTable[slot] = USED_SLOT | ((long) paletteSize << 40) | (pixel & 0xFFFFFFFFL);
+                        lastIndex = paletteSize++;
+                        break;
+                    }
+
+                    if ((int) entry == pixel) {
+                        lastIndex = (int) (entry >>> 40);
+                        break;
+                    }
+                    slot = (slot + 1) & (PALETTE_TABLE_SIZE - 1);
+                }
+
+                lastPixel = pixel;
+                this.indices[index] = (byte) lastIndex;
+            }
+            return paletteSize;
+        }
+
+        void trim() {
+            if (this.pixels.length * 4L > MAX_RETAINED_BUFFER_BYTES) {
+                this.pixels = new int[0];
+            }
+            if (this.indices.length > MAX_RETAINED_BUFFER_BYTES) {
+                this.indices = new byte[0];
+            }
+            if (this.raw.length > MAX_RETAINED_BUFFER_BYTES) {
+                this.raw = new byte[0];
+            }
+            if (this.compressed.length > MAX_RETAINED_BUFFER_BYTES) {
+                this.compressed = new byte[0];
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package de.timmi6790.mineplex.stats.common.generators.picture;
+
+import lombok.Getter;
+
+import java.awt.*;
+import java.util.Map;
+
+/**
+ * Rendering hints of the pictures.
+ * <p>
+ * Text is always drawn with antialiasing. Disabling the global antialiasing only for text makes java2d use a slower
+ * glyph path and our pictures would be harder to read.
+ */
+@Getter
+public enum RenderProfile {
+    /**
+     * Every quality hint, the previous behaviour.
+     */
+    QUALITY(
+            Map.of(
+                    RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON,
+                    RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY,
+                    RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_QUALITY,
+                    RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY,
+                    RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON,
+                    RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_NORMALIZE,
+                    RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR
+            ),
+            true
+    ),
+    /**
+     * Only the hints that change our pictures. The output is pixel identical to {@link #QUALITY}.
+     */
+    BALANCED(
+            Map.of(
+                    RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON,
+                    RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON
+            ),
+            true
+    ),
+    /**
+     * Shapes like the pie slices are drawn without antialiasing, text is unchanged.
+     */
+    FAST(
+            Map.of(
+                    RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON,
+                    RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON
+            ),
+            false
+    );
+
+    private final Map<RenderingHints.Key, Object> renderingHints;
+    private final boolean shapeAntialiasing;
+
+    RenderProfile(final Map<RenderingHints.Key, Object> renderingHints, final boolean shapeAntialiasing) {
+        this.renderingHints = renderingHints;
+        this.shapeAntialiasing = shapeAntialiasing;
+    }
+}
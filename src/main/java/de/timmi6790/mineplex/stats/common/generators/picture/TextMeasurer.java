@@ -0,0 +1,62 @@
+package de.timmi6790.mineplex.stats.common.generators.picture;
+
+import lombok.experimental.UtilityClass;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread safe text width measurement.
+ * <p>
+ * Latin-1 text is measured by summing cached glyph advances, everything else falls back to the font metrics of a
+ * graphics instance that is confined to the current thread.
+ */
+@UtilityClass
+public class TextMeasurer {
+    private static final int CACHED_CHARACTERS = 256;
+
+    private static final Map<Font, int[]> ADVANCE_CACHE = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Graphics2D> MEASURE_GRAPHICS = ThreadLocal.withInitial(() ->
+            new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB).createGraphics()
+    );
+
+    public int getTextWidth(final String text, final Font font) {
+        // Kerning and ligatures can't be represented by single glyph advances
+        if (font.hasLayoutAttributes()) {
+            return getFontMetrics(font).stringWidth(text);
+        }
+
+        final int[] advances = getAdvances(font);
+        int width = 0;
+        for (int index = 0; text.length() > index; index++) {
+            final char character = text.charAt(index);
+            if (character >= CACHED_CHARACTERS) {
+                return getFontMetrics(font).stringWidth(text);
+            }
+
+            width += advances[character];
+        }
+        return width;
+    }
+
+    public int[] getAdvances(final Font font) {
+        return ADVANCE_CACHE.computeIfAbsent(font, TextMeasurer::calculateAdvances);
+    }
+
+    public FontMetrics getFontMetrics(final Font font) {
+        return MEASURE_GRAPHICS.get().getFontMetrics(font);
+    }
+
+    private int[] calculateAdvances(final Font font) {
+        // Without fractional metrics each advance is already rounded,
+        // the sum of them is identical to FontMetrics#stringWidth for latin text
+        final FontMetrics fontMetrics = getFontMetrics(font);
+        final int[] advances = new int[CACHED_CHARACTERS];
+        for (int character = 0; CACHED_CHARACTERS > character; character++) {
+            advances[character] = fontMetrics.charWidth((char) character);
+        }
+        return advances;
+    }
+}
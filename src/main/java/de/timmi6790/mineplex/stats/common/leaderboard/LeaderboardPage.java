@@ -0,0 +1,34 @@
+package de.timmi6790.mineplex.stats.common.leaderboard;
+
+import de.timmi6790.mpstats.api.client.common.leaderboard.models.Leaderboard;
+import de.timmi6790.mpstats.api.client.common.leaderboard.models.LeaderboardPositionEntry;
+import de.timmi6790.mpstats.api.client.common.player.models.Player;
+import lombok.Data;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * Window of a leaderboard save.
+ */
+@Data
+public class LeaderboardPage<P extends Player> {
+    private final Leaderboard leaderboard;
+    private final ZonedDateTime saveTime;
+    /**
+     * Entry count of the whole save
+     */
+    private final int totalEntries;
+    /**
+     * The 1 based index of the first entry in the save
+     */
+    private final int startPosition;
+    private final List<LeaderboardPositionEntry<P>> entries;
+
+    /**
+     * The 1 based index of the last entry in the save
+     */
+    public int getEndPosition() {
+        return this.startPosition + this.entries.size() - 1;
+    }
+}
@@ -0,0 +1,30 @@
+package de.timmi6790.mineplex.stats.common.leaderboard;
+
+import de.timmi6790.mpstats.api.client.common.filter.models.Reason;
+import de.timmi6790.mpstats.api.client.common.player.models.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Fetches only the part of a leaderboard save that is rendered.
+ */
+public interface LeaderboardRangeSource<P extends Player> {
+    /**
+     * Returns up to maximumEntries entries starting at the start position. A window that would reach past the end of
+     * the save is moved back, so that the last page is always full.
+     *
+     * @param requestedTime the requested time or null for the latest save
+     * @param startPosition the 1 based index of the first entry
+     * @return the page or empty if the save has no data
+     */
+    Optional<LeaderboardPage<P>> getPage(String game,
+                                         String stat,
+                                         String board,
+                                         @Nullable ZonedDateTime requestedTime,
+                                         Set<Reason> filterReasons,
+                                         int startPosition,
+                                         int maximumEntries);
+}
@@ -0,0 +1,68 @@
+package de.timmi6790.mineplex.stats.common.leaderboard;
+
+import de.timmi6790.mpstats.api.client.common.filter.models.Reason;
+import de.timmi6790.mpstats.api.client.common.leaderboard.models.LeaderboardPositionEntry;
+import de.timmi6790.mpstats.api.client.common.leaderboard.models.LeaderboardPositionSave;
+import de.timmi6790.mpstats.api.client.common.player.models.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Range source backed by complete saves, until the api supports ranged requests.
+ * <p>
+ * The pages are views into the loaded save, the save itself is expected to be cached by the loader.
+ */
+public class SaveSlicingRangeSource<P extends Player> implements LeaderboardRangeSource<P> {
+    private final SaveLoader<P> saveLoader;
+
+    public SaveSlicingRangeSource(final SaveLoader<P> saveLoader) {
+        this.saveLoader = saveLoader;
+    }
+
+    @Override
+    public Optional<LeaderboardPage<P>> getPage(final String game,
+                                                final String stat,
+                                                final String board,
+                                                @Nullable final ZonedDateTime requestedTime,
+                                                final Set<Reason> filterReasons,
+                                                final int startPosition,
+                                                final int maximumEntries) {
+        final Optional<LeaderboardPositionSave<P>> saveOpt = this.saveLoader.getSave(
+                game,
+                stat,
+                board,
+                requestedTime,
+                filterReasons
+        );
+        if (saveOpt.isEmpty() || saveOpt.get().getEntries().isEmpty()) {
+            return Optional.empty();
+        }
+
+        final LeaderboardPositionSave<P> save = saveOpt.get();
+        final List<LeaderboardPositionEntry<P>> entries = save.getEntries();
+        final int endPosition = Math.min(entries.size(), startPosition + maximumEntries - 1);
+        final int pageStartPosition = Math.max(1, endPosition - maximumEntries + 1);
+        return Optional.of(
+                new LeaderboardPage<>(
+                        save.getLeaderboard(),
+                        save.getSaveTime(),
+                        entries.size(),
+                        pageStartPosition,
+                        entries.subList(pageStartPosition - 1, endPosition)
+                )
+        );
+    }
+
+    @FunctionalInterface
+    public interface SaveLoader<P extends Player> {
+        Optional<LeaderboardPositionSave<P>> getSave(String game,
+                                                     String stat,
+                                                     String board,
+                                                     @Nullable ZonedDateTime requestedTime,
+                                                     Set<Reason> filterReasons);
+    }
+}
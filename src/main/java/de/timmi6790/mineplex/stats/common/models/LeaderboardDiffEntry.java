@@ -0,0 +1,31 @@
+package de.timmi6790.mineplex.stats.common.models;
+
+import de.timmi6790.mpstats.api.client.common.leaderboard.models.LeaderboardPositionEntry;
+import de.timmi6790.mpstats.api.client.common.player.models.Player;
+import lombok.Data;
+import org.jetbrains.annotations.Nullable;
+
+@Data
+public class LeaderboardDiffEntry<P extends Player> {
+    private final LeaderboardPositionEntry<P> entry;
+    /**
+     * The entry of the same player in the older save or null if the player is new on the board
+     */
+    @Nullable
+    private final LeaderboardPositionEntry<P> previousEntry;
+
+    public boolean isNew() {
+        return this.previousEntry == null;
+    }
+
+    public long getScoreDelta() {
+        return this.previousEntry == null ? 0 : this.entry.getScore() - this.previousEntry.getScore();
+    }
+
+    /**
+     * Positive when the player moved up the board
+     */
+    public int getPositionDelta() {
+        return this.previousEntry == null ? 0 : this.previousEntry.getPosition() - this.entry.getPosition();
+    }
+}
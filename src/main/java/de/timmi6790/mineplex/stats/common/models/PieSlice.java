@@ -0,0 +1,9 @@
+package de.timmi6790.mineplex.stats.common.models;
+
+import lombok.Data;
+
+@Data
+public class PieSlice {
+    private final String label;
+    private final long value;
+}
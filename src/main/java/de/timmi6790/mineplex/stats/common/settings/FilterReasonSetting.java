@@ -1,5 +1,7 @@
 package de.timmi6790.mineplex.stats.common.settings;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import de.timmi6790.discord_framework.module.modules.command.CommandParameters;
 import de.timmi6790.discord_framework.module.modules.setting.AbstractSetting;
 import de.timmi6790.discord_framework.utilities.commons.EnumUtilities;
@@ -14,7 +16,35 @@ public class FilterReasonSetting extends AbstractSetting<Set<Reason>> {
     private static final String REPOSITORY_DIVIDER = "/";
     private static final String EMPTY_SET_ARGUMENT = "None";
     private static final String FULL_SET_ARGUMENT = "All";
-    private static final Set<Reason> DEFAULT_REASONS = EnumSet.of(Reason.GLITCHED, Reason.GIVEN);
+    private static final Set<Reason> DEFAULT_REASONS = Collections.unmodifiableSet(EnumSet.of(Reason.GLITCHED, Reason.GIVEN));
+    private static final int MAXIMUM_BITMASK_DIGITS = 18;
+    /**
+     * Database bit of every reason, by name. Reason is part of the api client, its ordinals are not under our control.
+     * The bits are stored in the database and must never change or be reused, new reasons get the next unused bit.
+     */
+    private static final Map<String, Long> REASON_NAME_BITS = Map.of(
+            "GLITCHED", 1L,
+            "GIVEN", 1L << 1
+    );
+    private static final Map<Reason, Long> REASON_BITS = createReasonBits();
+    private static final long KNOWN_BITS = REASON_BITS.values().stream().reduce(0L, (first, second) -> first | second);
+
+    // The decoded values are shared between all users with the same stored value
+    private static final LoadingCache<String, Set<Reason>> DECODED_VALUES = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .build(FilterReasonSetting::decodeDatabaseValue);
+
+    private static Map<Reason, Long> createReasonBits() {
+        final Map<Reason, Long> reasonBits = new EnumMap<>(Reason.class);
+        for (final Reason reason : Reason.values()) {
+            final Long bit = REASON_NAME_BITS.get(reason.name());
+            if (bit == null) {
+                throw new IllegalStateException("Reason " + reason.name() + " has no database bit");
+            }
+            reasonBits.put(reason, bit);
+        }
+        return Collections.unmodifiableMap(reasonBits);
+    }
 
     public static Set<Reason> getDefaultReasons() {
         return DEFAULT_REASONS;
@@ -32,27 +62,39 @@ public class FilterReasonSetting extends AbstractSetting<Set<Reason>> {
         );
     }
 
-    @Override
-    public String toDatabaseValue(final Set<Reason> value) {
-        if (value.isEmpty()) {
-            return EMPTY_SET_ARGUMENT;
+    private static boolean isBitmask(final String value) {
+        if (value.isEmpty() || value.length() > MAXIMUM_BITMASK_DIGITS) {
+            return false;
         }
 
-        // There is no reason to try to save disk space here for the limited usage
-        // We can't use , or ; as the divider, this is currently not working with the main framework. I should really fix this
-        final StringJoiner joinedReasons = new StringJoiner(REPOSITORY_DIVIDER);
-        for (final Reason reason : value) {
-            joinedReasons.add(reason.toString());
+        for (int index = 0; value.length() > index; index++) {
+            if (!Character.isDigit(value.charAt(index))) {
+                return false;
+            }
         }
-
-        return joinedReasons.toString();
+        return true;
     }
 
-    @Override
-    public Set<Reason> fromDatabaseValue(final String value) {
+    private static Set<Reason> decodeDatabaseValue(final String value) {
         final Set<Reason> found = EnumSet.noneOf(Reason.class);
+        if (isBitmask(value)) {
+            final long bitmask = Long.parseLong(value);
+            if ((bitmask & ~KNOWN_BITS) != 0) {
+                log.warn("Invalid Reason bitmask found: " + value);
+                return DEFAULT_REASONS;
+            }
+
+            for (final Map.Entry<Reason, Long> entry : REASON_BITS.entrySet()) {
+                if ((bitmask & entry.getValue()) != 0) {
+                    found.add(entry.getKey());
+                }
+            }
+            return Collections.unmodifiableSet(found);
+        }
+
+        // Legacy values, stored as "/" joined names
         if (EMPTY_SET_ARGUMENT.equalsIgnoreCase(value)) {
-            return found;
+            return Collections.unmodifiableSet(found);
         }
 
         final String[] parts = value.split(REPOSITORY_DIVIDER);
@@ -65,7 +107,21 @@ public class FilterReasonSetting extends AbstractSetting<Set<Reason>> {
             }
         }
 
-        return found;
+        return Collections.unmodifiableSet(found);
+    }
+
+    @Override
+    public String toDatabaseValue(final Set<Reason> value) {
+        long bitmask = 0;
+        for (final Reason reason : value) {
+            bitmask |= REASON_BITS.get(reason);
+        }
+        return Long.toString(bitmask);
+    }
+
+    @Override
+    public Set<Reason> fromDatabaseValue(final String value) {
+        return DECODED_VALUES.get(value);
     }
 
     @Override
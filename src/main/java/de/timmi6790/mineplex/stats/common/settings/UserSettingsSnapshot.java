@@ -0,0 +1,44 @@
+package de.timmi6790.mineplex.stats.common.settings;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.timmi6790.discord_framework.module.modules.command.CommandParameters;
+import de.timmi6790.discord_framework.module.modules.setting.AbstractSetting;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Setting values of one command invocation. Every setting is only read once from the user db, independent of how
+ * often it is requested while the command is executed.
+ */
+public final class UserSettingsSnapshot {
+    // Weak keys compare the parameters by identity, the expiry removes the snapshots of finished commands
+    private static final Cache<CommandParameters, UserSettingsSnapshot> SNAPSHOTS = Caffeine.newBuilder()
+            .weakKeys()
+            .expireAfterWrite(1, TimeUnit.MINUTES)
+            .build();
+
+    private final CommandParameters commandParameters;
+    private final Map<Class<?>, Object> values = new ConcurrentHashMap<>();
+
+    private UserSettingsSnapshot(final CommandParameters commandParameters) {
+        this.commandParameters = commandParameters;
+    }
+
+    public static UserSettingsSnapshot of(final CommandParameters commandParameters) {
+        return SNAPSHOTS.get(commandParameters, UserSettingsSnapshot::new);
+    }
+
+    /**
+     * @param defaultValue the default value, needs to be the same for all requests of the same setting
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getSettingOrDefault(final Class<? extends AbstractSetting<T>> settingClass, final T defaultValue) {
+        return (T) this.values.computeIfAbsent(
+                settingClass,
+                key -> this.commandParameters.getUserDb().getSettingOrDefault(settingClass, defaultValue)
+        );
+    }
+}
@@ -3,6 +3,7 @@ package de.timmi6790.mineplex.stats.common.utilities;
 import de.timmi6790.discord_framework.module.modules.command.CommandParameters;
 import de.timmi6790.discord_framework.module.modules.command.exceptions.CommandReturnException;
 import de.timmi6790.mineplex.stats.common.settings.FilterReasonSetting;
+import de.timmi6790.mineplex.stats.common.settings.UserSettingsSnapshot;
 import de.timmi6790.mpstats.api.client.common.filter.models.Reason;
 import lombok.Getter;
 import lombok.experimental.UtilityClass;
@@ -25,7 +26,10 @@ public class ArgumentParsingUtilities {
             "MM.dd.yyyy",
             "MM.dd.yyyy HH",
             "MM.dd.yyyy HH:mm",
-            "MM.dd.yyyy HH:mm:ss"
+            "MM.dd.yyyy HH:mm:ss",
+            "yyyy-MM-ddTHH:mm:ssZ (ISO-8601)",
+            "3d 12h ago",
+            "Unix timestamp in seconds or milliseconds (1629331200)"
     };
 
     public ZonedDateTime getDateTimeOrThrow(final CommandParameters commandParameters, final int startArgPos) {
@@ -34,11 +38,9 @@ public class ArgumentParsingUtilities {
         }
 
         final String[] dateArgs = Arrays.copyOfRange(commandParameters.getArgs(), startArgPos, commandParameters.getArgs().length);
-        final String dateInput = String.join(" ", dateArgs)
-                .replace("/", ".")
-                .replace("-", ".");
+        final String dateInput = String.join(" ", dateArgs);
 
-        final Optional<ZonedDateTime> zonedDateTimeOpt = DateUtilities.parseZonedDateTime(dateInput, allowedDateFormats);
+        final Optional<ZonedDateTime> zonedDateTimeOpt = DateUtilities.parseZonedDateTime(dateInput);
         if (zonedDateTimeOpt.isPresent()) {
             return zonedDateTimeOpt.get();
         }
@@ -57,7 +59,7 @@ public class ArgumentParsingUtilities {
     }
 
     public Set<Reason> getFilterReasons(final CommandParameters commandParameters) {
-        return commandParameters.getUserDb().getSettingOrDefault(
+        return UserSettingsSnapshot.of(commandParameters).getSettingOrDefault(
                 FilterReasonSetting.class,
                 FilterReasonSetting.getDefaultReasons()
         );
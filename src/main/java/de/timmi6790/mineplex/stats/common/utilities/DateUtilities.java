@@ -3,37 +3,337 @@ package de.timmi6790.mineplex.stats.common.utilities;
 import lombok.experimental.UtilityClass;
 
 import java.time.*;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.time.temporal.TemporalAccessor;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
 import java.util.Optional;
 
+/**
+ * Parses the user date inputs in one pass without exceptions. Supported are the legacy formats
+ * MM.dd.yyyy[ HH[:mm[:ss]]] (with '.', '/' or '-' as date separator), ISO-8601 date times, relative times like
+ * "3d 12h ago" and unix timestamps in seconds or milliseconds with at least 9 digits. All results are in UTC.
+ */
 @UtilityClass
 public class DateUtilities {
-    public Optional<ZonedDateTime> parseZonedDateTime(final String input, final String[] dateFormats) {
-        for (final String formatString : dateFormats) {
-            // Maybe we need to cache them based on the usages
-            final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(formatString);
+    private static final ZoneId UTC = ZoneId.of("UTC");
 
-            final TemporalAccessor temporalAccessor;
-            try {
-                temporalAccessor = formatter.parse(input);
-            } catch (final DateTimeParseException ignore) {
-                continue;
+    private static final String LEGACY_DATE_SEPARATORS = "./-";
+    // Shorter numbers are more likely years or dates without separators than timestamps before 1973
+    private static final int MINIMUM_SECONDS_DIGITS = 9;
+    // Everything longer can't be a timestamp in seconds before the year 5000
+    private static final int MAXIMUM_SECONDS_DIGITS = 11;
+    private static final int MAXIMUM_MILLIS_DIGITS = 15;
+    private static final int MAXIMUM_RELATIVE_DIGITS = 6;
+    private static final int MAXIMUM_FRACTION_DIGITS = 9;
+    private static final int MAXIMUM_OFFSET_HOURS = 18;
+
+    public Optional<ZonedDateTime> parseZonedDateTime(final String input) {
+        return parseZonedDateTime(input, ZonedDateTime.now(UTC));
+    }
+
+    /**
+     * @param now the time relative inputs are based on
+     */
+    public Optional<ZonedDateTime> parseZonedDateTime(final String input, final ZonedDateTime now) {
+        final DateScanner scanner = new DateScanner(input.trim());
+        if (scanner.isEnd()) {
+            return Optional.empty();
+        }
+
+        final ZonedDateTime result;
+        if (scanner.isDigitsUntilEnd()) {
+            result = parseUnixTimestamp(scanner);
+        } else if (scanner.isDigits(0, 4) && scanner.isCharAt(4, '-')) {
+            result = parseIsoDateTime(scanner);
+        } else if (scanner.isDigits(0, 2) && scanner.isCharAt(2, LEGACY_DATE_SEPARATORS)) {
+            result = parseLegacyDateTime(scanner);
+        } else {
+            result = parseRelativeDateTime(scanner, now);
+        }
+        return Optional.ofNullable(result);
+    }
+
+    private ZonedDateTime parseUnixTimestamp(final DateScanner scanner) {
+        final String input = scanner.getInput();
+        if (MINIMUM_SECONDS_DIGITS > input.length() || input.length() > MAXIMUM_MILLIS_DIGITS) {
+            return null;
+        }
+
+        final long timestamp = Long.parseLong(input);
+        final Instant instant = input.length() > MAXIMUM_SECONDS_DIGITS
+                ? Instant.ofEpochMilli(timestamp)
+                : Instant.ofEpochSecond(timestamp);
+        return ZonedDateTime.ofInstant(instant, UTC);
+    }
+
+    private ZonedDateTime parseLegacyDateTime(final DateScanner scanner) {
+        final int month = scanner.readNumber(2, 2);
+        if (month == -1 || !scanner.accept(LEGACY_DATE_SEPARATORS)) {
+            return null;
+        }
+        final int day = scanner.readNumber(2, 2);
+        if (day == -1 || !scanner.accept(LEGACY_DATE_SEPARATORS)) {
+            return null;
+        }
+        final int year = scanner.readNumber(4, 4);
+        if (year == -1) {
+            return null;
+        }
+
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        if (scanner.accept(' ')) {
+            hour = scanner.readNumber(2, 2);
+            if (scanner.accept(':')) {
+                minute = scanner.readNumber(2, 2);
+                if (scanner.accept(':')) {
+                    second = scanner.readNumber(2, 2);
+                }
             }
+        }
 
-            // We can't parse it to local date time directly if the input has no time,
-            // that is the reason we need to fall back to local date
-            LocalDateTime localDateTime;
-            try {
-                localDateTime = LocalDateTime.from(temporalAccessor);
-            } catch (final DateTimeException ignore) {
-                final LocalDate date = LocalDate.from(temporalAccessor);
-                localDateTime = LocalDateTime.of(date, LocalTime.MIN);
+        if (!scanner.isEnd()) {
+            return null;
+        }
+        return createDateTime(year, month, day, hour, minute, second, 0, ZoneOffset.UTC);
+    }
+
+    private ZonedDateTime parseIsoDateTime(final DateScanner scanner) {
+        final int year = scanner.readNumber(4, 4);
+        if (!scanner.accept('-')) {
+            return null;
+        }
+        final int month = scanner.readNumber(2, 2);
+        if (month == -1 || !scanner.accept('-')) {
+            return null;
+        }
+        final int day = scanner.readNumber(2, 2);
+
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        int nano = 0;
+        if (scanner.accept("Tt ")) {
+            hour = scanner.readNumber(2, 2);
+            if (hour == -1 || !scanner.accept(':')) {
+                return null;
+            }
+            minute = scanner.readNumber(2, 2);
+            if (scanner.accept(':')) {
+                second = scanner.readNumber(2, 2);
+                if (scanner.accept('.')) {
+                    final int fractionStart = scanner.getPosition();
+                    final int fraction = scanner.readNumber(1, MAXIMUM_FRACTION_DIGITS);
+                    if (fraction == -1) {
+                        return null;
+                    }
+                    nano = fraction;
+                    for (int digits = scanner.getPosition() - fractionStart; MAXIMUM_FRACTION_DIGITS > digits; digits++) {
+                        nano *= 10;
+                    }
+                }
             }
+        }
+
+        final ZoneOffset offset = readOffset(scanner);
+        if (offset == null || !scanner.isEnd()) {
+            return null;
+        }
+        return createDateTime(year, month, day, hour, minute, second, nano, offset);
+    }
+
+    private ZoneOffset readOffset(final DateScanner scanner) {
+        if (scanner.isEnd() || scanner.accept("Zz")) {
+            return ZoneOffset.UTC;
+        }
+
+        final int sign;
+        if (scanner.accept('+')) {
+            sign = 1;
+        } else if (scanner.accept('-')) {
+            sign = -1;
+        } else {
+            return null;
+        }
+
+        final int hours = scanner.readNumber(2, 2);
+        int minutes = 0;
+        if (scanner.accept(':') || !scanner.isEnd()) {
+            minutes = scanner.readNumber(2, 2);
+        }
+        if (hours == -1 || minutes == -1 || minutes > 59
+                || hours > MAXIMUM_OFFSET_HOURS || (hours == MAXIMUM_OFFSET_HOURS && minutes != 0)) {
+            return null;
+        }
+        return ZoneOffset.ofHoursMinutes(sign * hours, sign * minutes);
+    }
+
+    private ZonedDateTime parseRelativeDateTime(final DateScanner scanner, final ZonedDateTime now) {
+        long years = 0;
+        long months = 0;
+        long weeks = 0;
+        long days = 0;
+        long seconds = 0;
+        boolean foundAmount = false;
+        while (!scanner.isEnd()) {
+            final int amount = scanner.readNumber(1, MAXIMUM_RELATIVE_DIGITS);
+            if (amount == -1) {
+                // "ago" is optional, but only allowed at the end
+                if (foundAmount && "ago".equals(scanner.readWord())) {
+                    scanner.skipSpaces();
+                    if (scanner.isEnd()) {
+                        break;
+                    }
+                }
+                return null;
+            }
+
+            scanner.skipSpaces();
+            switch (scanner.readWord()) {
+                case "s", "sec", "secs", "second", "seconds" -> seconds += amount;
+                case "m", "min", "mins", "minute", "minutes" -> seconds += amount * 60L;
+                case "h", "hr", "hrs", "hour", "hours" -> seconds += amount * 3_600L;
+                case "d", "day", "days" -> days += amount;
+                case "w", "week", "weeks" -> weeks += amount;
+                case "mo", "month", "months" -> months += amount;
+                case "y", "yr", "yrs", "year", "years" -> years += amount;
+                default -> {
+                    return null;
+                }
+            }
+            foundAmount = true;
+            scanner.skipSpaces();
+        }
+
+        if (!foundAmount) {
+            return null;
+        }
 
-            return Optional.of(ZonedDateTime.of(localDateTime, ZoneId.of("UTC")));
+        // The saves are far less frequent than a minute, truncating allows caching of identical requests
+        try {
+            return now.withZoneSameInstant(UTC)
+                    .minusYears(years)
+                    .minusMonths(months)
+                    .minusWeeks(weeks)
+                    .minusDays(days)
+                    .minusSeconds(seconds)
+                    .truncatedTo(ChronoUnit.MINUTES);
+        } catch (final DateTimeException | ArithmeticException ignore) {
+            // Only reachable with absurd amounts outside the supported date range
+            return null;
+        }
+    }
+
+    private ZonedDateTime createDateTime(final int year,
+                                         final int month,
+                                         final int day,
+                                         final int hour,
+                                         final int minute,
+                                         final int second,
+                                         final int nano,
+                                         final ZoneOffset offset) {
+        if (year == -1 || month < 1 || month > 12 || day < 1 || day > 31
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return null;
+        }
+
+        // Days after the end of the month are moved to the last day, like the previous smart formatter parsing
+        final int validDay = Math.min(day, YearMonth.of(year, month).lengthOfMonth());
+        final LocalDateTime localDateTime = LocalDateTime.of(year, month, validDay, hour, minute, second, nano);
+        return ZonedDateTime.of(localDateTime, offset).withZoneSameInstant(UTC);
+    }
+
+    private static final class DateScanner {
+        private final String input;
+        private int position;
+
+        private DateScanner(final String input) {
+            this.input = input;
+        }
+
+        private String getInput() {
+            return this.input;
+        }
+
+        private int getPosition() {
+            return this.position;
+        }
+
+        private boolean isEnd() {
+            return this.position >= this.input.length();
+        }
+
+        private boolean isDigit(final int index) {
+            if (index >= this.input.length()) {
+                return false;
+            }
+
+            final char character = this.input.charAt(index);
+            return character >= '0' && character <= '9';
+        }
+
+        private boolean isDigits(final int start, final int end) {
+            for (int index = start; end > index; index++) {
+                if (!this.isDigit(index)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isDigitsUntilEnd() {
+            return this.isDigits(0, this.input.length());
+        }
+
+        private boolean isCharAt(final int index, final char expected) {
+            return this.input.length() > index && this.input.charAt(index) == expected;
+        }
+
+        private boolean isCharAt(final int index, final String expected) {
+            return this.input.length() > index && expected.indexOf(this.input.charAt(index)) != -1;
+        }
+
+        private boolean accept(final char expected) {
+            if (this.isCharAt(this.position, expected)) {
+                this.position++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean accept(final String expected) {
+            if (this.isCharAt(this.position, expected)) {
+                this.position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipSpaces() {
+            while (this.isCharAt(this.position, ' ')) {
+                this.position++;
+            }
+        }
+
+        /**
+         * @return the number or -1 when less than minDigits digits are found
+         */
+        private int readNumber(final int minDigits, final int maxDigits) {
+            final int start = this.position;
+            int value = 0;
+            while (maxDigits > this.position - start && this.isDigit(this.position)) {
+                value = value * 10 + (this.input.charAt(this.position) - '0');
+                this.position++;
+            }
+            return minDigits > this.position - start ? -1 : value;
+        }
+
+        private String readWord() {
+            final int start = this.position;
+            while (!this.isEnd() && Character.isLetter(this.input.charAt(this.position))) {
+                this.position++;
+            }
+            return this.input.substring(start, this.position).toLowerCase(Locale.ROOT);
         }
-        return Optional.empty();
     }
 }
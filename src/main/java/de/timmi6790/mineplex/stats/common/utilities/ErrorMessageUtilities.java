@@ -74,6 +74,16 @@ public class ErrorMessageUtilities {
         );
     }
 
+    public void sendApiBusyMessage(final CommandParameters commandParameters) {
+        sendMessageTimed(
+                commandParameters.getLowestMessageChannel(),
+                getEmbedBuilder(commandParameters)
+                        .setTitle("Api Busy")
+                        .setDescription("There are currently too many requests against the api. Please try it again in a few seconds."),
+                300
+        );
+    }
+
     public void sendNotDataFoundMessage(final CommandParameters commandParameters) {
         sendMessageTimed(
                 commandParameters.getLowestMessageChannel(),
@@ -13,36 +13,124 @@ import java.time.format.DateTimeFormatter;
 import java.util.Locale;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * All formatting methods are thread safe. Integral values are written by hand into a per thread buffer, the output
+ * is identical to the previous {@link DecimalFormat} based implementation.
+ */
 @UtilityClass
 public class FormationUtilities {
-    private static final DecimalFormat FORMAT_NUMBER = (DecimalFormat) NumberFormat.getInstance(Locale.US);
-    private static final DecimalFormat FORMAT_DECIMAL_POINT = new DecimalFormat(".##");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy HH:mm:ss O");
 
-    static {
-        final DecimalFormatSymbols numberSymbol = FORMAT_NUMBER.getDecimalFormatSymbols();
+    // Only used for non integral numbers
+    private static final ThreadLocal<DecimalFormat> DECIMAL_FORMAT = ThreadLocal.withInitial(() -> {
+        final DecimalFormat format = (DecimalFormat) NumberFormat.getInstance(Locale.US);
+        final DecimalFormatSymbols numberSymbol = format.getDecimalFormatSymbols();
         numberSymbol.setGroupingSeparator(',');
-        FORMAT_NUMBER.setDecimalFormatSymbols(numberSymbol);
-
-        final DecimalFormatSymbols dateSymbol = FORMAT_DECIMAL_POINT.getDecimalFormatSymbols();
+        format.setDecimalFormatSymbols(numberSymbol);
+        return format;
+    });
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(32));
+
+    private static final String LONG_MIN_VALUE = "-9,223,372,036,854,775,808";
+
+    // Fraction suffixes of the durations, e.g. 1 day and 6 hours = "1" + ".25" + " days"
+    private static final int HOURS_PER_DAY = 24;
+    private static final int PARTS_PER_UNIT = 60;
+    private static final String[] DAY_FRACTIONS = createFractions(HOURS_PER_DAY);
+    private static final String[] UNIT_FRACTIONS = createFractions(PARTS_PER_UNIT);
+
+    /**
+     * Creates the formatted fractions for all numerators between -(denominator - 1) and denominator - 1. The index of
+     * a numerator is numerator + denominator - 1.
+     */
+    private String[] createFractions(final int denominator) {
+        final DecimalFormat format = new DecimalFormat(".##");
+        final DecimalFormatSymbols dateSymbol = format.getDecimalFormatSymbols();
         dateSymbol.setDecimalSeparator('.');
-        FORMAT_DECIMAL_POINT.setDecimalFormatSymbols(dateSymbol);
+        format.setDecimalFormatSymbols(dateSymbol);
+
+        final String[] fractions = new String[denominator * 2 - 1];
+        for (int index = 0; fractions.length > index; index++) {
+            final long numerator = index - (denominator - 1L);
+            fractions[index] = format.format(numerator / (double) denominator);
+        }
+        return fractions;
+    }
 
+    private String getFraction(final String[] fractions, final int denominator, final long numerator) {
+        return fractions[(int) numerator + denominator - 1];
+    }
+
+    private StringBuilder getBuffer() {
+        final StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        return buffer;
     }
 
     public String getFormattedTime(final ZonedDateTime zonedDateTime) {
-        final DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("MM/dd/yyyy HH:mm:ss O");
-        return zonedDateTime.withZoneSameInstant(ZoneOffset.UTC).format(dateFormat);
+        return zonedDateTime.withZoneSameInstant(ZoneOffset.UTC).format(TIME_FORMAT);
+    }
+
+    public String getFormattedNumber(final long number) {
+        return appendFormattedNumber(getBuffer(), number).toString();
     }
 
     public String getFormattedNumber(final Number number) {
-        return FORMAT_NUMBER.format(number);
+        if (number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte) {
+            return getFormattedNumber(number.longValue());
+        }
+
+        return DECIMAL_FORMAT.get().format(number);
     }
 
     public String getFormattedStat(final Stat stat) {
-        return (stat.isAchievement() ? "Achievement " : "") + stat.getCleanName();
+        return stat.isAchievement() ? "Achievement " + stat.getCleanName() : stat.getCleanName();
+    }
+
+    protected String getFormattedTime(final long time) {
+        return appendFormattedDuration(getBuffer(), time).toString();
+    }
+
+    public String getFormattedScore(final Stat stat, final long score) {
+        return appendFormattedScore(getBuffer(), stat, score).toString();
+    }
+
+    public String getFormattedPosition(final int position) {
+        return appendFormattedPosition(getBuffer(), position).toString();
+    }
+
+    public StringBuilder appendFormattedNumber(final StringBuilder builder, final long number) {
+        if (number == Long.MIN_VALUE) {
+            return builder.append(LONG_MIN_VALUE);
+        }
+
+        long remaining = number;
+        if (remaining < 0) {
+            builder.append('-');
+            remaining = -remaining;
+        }
+
+        // Digits are written in reverse order and flipped afterwards
+        final int start = builder.length();
+        int digits = 0;
+        do {
+            if (digits != 0 && digits % 3 == 0) {
+                builder.append(',');
+            }
+            builder.append((char) ('0' + remaining % 10));
+            remaining /= 10;
+            digits++;
+        } while (remaining != 0);
+
+        for (int left = start, right = builder.length() - 1; right > left; left++, right--) {
+            final char character = builder.charAt(left);
+            builder.setCharAt(left, builder.charAt(right));
+            builder.setCharAt(right, character);
+        }
+        return builder;
     }
 
-    protected String getFormattedTime(long time) {
+    public StringBuilder appendFormattedDuration(final StringBuilder builder, long time) {
         final long days = TimeUnit.SECONDS.toDays(time);
         time -= TimeUnit.DAYS.toSeconds(days);
 
@@ -50,52 +138,55 @@ public class FormationUtilities {
         time -= TimeUnit.HOURS.toSeconds(hours);
 
         if (days != 0) {
+            builder.append(days);
             if (hours == 0) {
-                return days + (days > 1 ? " days" : " day");
+                return builder.append(days > 1 ? " days" : " day");
             }
 
-            return days + FORMAT_DECIMAL_POINT.format(hours / 24D) + " days";
+            return builder.append(getFraction(DAY_FRACTIONS, HOURS_PER_DAY, hours)).append(" days");
         }
 
         final long minutes = TimeUnit.SECONDS.toMinutes(time);
         time -= TimeUnit.MINUTES.toSeconds(minutes);
         if (hours != 0) {
+            builder.append(hours);
             if (minutes == 0) {
-                return hours + (hours > 1 ? " hours" : " hour");
+                return builder.append(hours > 1 ? " hours" : " hour");
             }
 
-            return hours + FORMAT_DECIMAL_POINT.format(minutes / 60D) + " hours";
+            return builder.append(getFraction(UNIT_FRACTIONS, PARTS_PER_UNIT, minutes)).append(" hours");
         }
 
-        final long seconds = TimeUnit.SECONDS.toSeconds(time);
+        final long seconds = time;
         if (minutes != 0) {
+            builder.append(minutes);
             if (seconds == 0) {
-                return minutes + (minutes > 1 ? " minutes" : " minute");
+                return builder.append(minutes > 1 ? " minutes" : " minute");
             }
 
-            return minutes + FORMAT_DECIMAL_POINT.format(seconds / 60D) + " minutes";
+            return builder.append(getFraction(UNIT_FRACTIONS, PARTS_PER_UNIT, seconds)).append(" minutes");
         }
 
-        return seconds + (seconds > 1 ? " seconds" : " second");
+        return builder.append(seconds).append(seconds > 1 ? " seconds" : " second");
     }
 
-    public String getFormattedScore(final Stat stat, final long score) {
+    public StringBuilder appendFormattedScore(final StringBuilder builder, final Stat stat, final long score) {
         if (score == -1) {
-            return "Unknown";
+            return builder.append("Unknown");
         }
 
         if (stat.getType() == StatType.TIME_IN_SECONDS) {
-            return getFormattedTime(score);
+            return appendFormattedDuration(builder, score);
         }
 
-        return FormationUtilities.getFormattedNumber(score);
+        return appendFormattedNumber(builder, score);
     }
 
-    public String getFormattedPosition(final int position) {
+    public StringBuilder appendFormattedPosition(final StringBuilder builder, final int position) {
         if (position == -1) {
-            return "Unknown";
+            return builder.append("Unknown");
         }
 
-        return FormationUtilities.getFormattedNumber(position);
+        return appendFormattedNumber(builder, position);
     }
 }
@@ -8,8 +8,11 @@ import de.timmi6790.mineplex.stats.java.commands.group.GroupPlayerStatsCommand;
 import de.timmi6790.mineplex.stats.java.commands.group.GroupsCommand;
 import de.timmi6790.mineplex.stats.java.commands.leaderboard.JavaGamesCommand;
 import de.timmi6790.mineplex.stats.java.commands.leaderboard.JavaLeaderboardCommand;
+import de.timmi6790.mineplex.stats.java.commands.leaderboard.JavaLeaderboardDiffCommand;
 import de.timmi6790.mineplex.stats.java.commands.leaderboard.UnfilteredJavaLeaderboardCommand;
+import de.timmi6790.mineplex.stats.java.commands.player.JavaPlayerBoardsCommand;
 import de.timmi6790.mineplex.stats.java.commands.player.JavaPlayerCommand;
+import de.timmi6790.mineplex.stats.java.commands.player.JavaPlayerCompareCommand;
 import de.timmi6790.mineplex.stats.java.commands.player.JavaPlayerStatsRatioCommand;
 import de.timmi6790.mineplex.stats.java.commands.player.UnfilteredJavaPlayerCommand;
 import de.timmi6790.mineplex.stats.java.settings.JavaNameReplacementSetting;
@@ -37,7 +40,10 @@ public class JavaMineplexStatsModule extends AbstractModule {
         this.getModuleOrThrow(CommandModule.class).registerCommands(
                 this,
                 new JavaLeaderboardCommand(this.statApicClient),
+                new JavaLeaderboardDiffCommand(this.statApicClient),
                 new JavaPlayerCommand(this.statApicClient),
+                new JavaPlayerBoardsCommand(this.statApicClient),
+                new JavaPlayerCompareCommand(this.statApicClient),
                 new JavaPlayerStatsRatioCommand(this.statApicClient),
                 new JavaGamesCommand(this.statApicClient),
                 new UnfilteredJavaLeaderboardCommand(this.statApicClient),
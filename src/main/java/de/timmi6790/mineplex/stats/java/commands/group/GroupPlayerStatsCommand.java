@@ -6,6 +6,7 @@ import de.timmi6790.discord_framework.module.modules.command.CommandResult;
 import de.timmi6790.discord_framework.module.modules.command.exceptions.CommandReturnException;
 import de.timmi6790.discord_framework.module.modules.command.property.properties.MinArgCommandProperty;
 import de.timmi6790.minecraft.utilities.JavaUtilities;
+import de.timmi6790.mineplex.stats.common.BaseMineplexStatsModule;
 import de.timmi6790.mineplex.stats.common.commands.BaseStatsCommand;
 import de.timmi6790.mineplex.stats.common.generators.picture.PictureTable;
 import de.timmi6790.mineplex.stats.common.models.ParserResult;
@@ -26,17 +27,13 @@ import de.timmi6790.mpstats.api.client.common.player.models.PlayerEntry;
 import de.timmi6790.mpstats.api.client.common.stat.exceptions.InvalidStatNameRestException;
 import de.timmi6790.mpstats.api.client.common.stat.models.Stat;
 import de.timmi6790.mpstats.api.client.java.player.models.JavaPlayer;
-import lombok.SneakyThrows;
 
-import java.awt.image.BufferedImage;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 
 public class GroupPlayerStatsCommand extends BaseStatsCommand<JavaPlayer> {
     private static final int ROW_SOFT_LIMIT = 20;
@@ -44,6 +41,9 @@ public class GroupPlayerStatsCommand extends BaseStatsCommand<JavaPlayer> {
     private static final int GROUP_POSITION = 1;
     private static final int STAT_POSITION = 2;
     private static final int BOARD_POSITION = 3;
+    private static final int TIME_POSITION = 4;
+
+    private final long skinDeadlineMillis;
 
     public GroupPlayerStatsCommand(final BaseApiClient<JavaPlayer> baseApiClient) {
         super(
@@ -55,6 +55,11 @@ public class GroupPlayerStatsCommand extends BaseStatsCommand<JavaPlayer> {
                 "gpl"
         );
 
+        this.skinDeadlineMillis = this.getModuleOrThrow(BaseMineplexStatsModule.class)
+                .getConfig()
+                .getSkin()
+                .getDeadlineMillis();
+
         this.addProperties(
                 new MinArgCommandProperty(3)
         );
@@ -67,15 +72,28 @@ public class GroupPlayerStatsCommand extends BaseStatsCommand<JavaPlayer> {
                                                                     final String board,
                                                                     final ZonedDateTime zonedDateTime,
                                                                     final Set<Reason> filterReasons) {
+        this.validateGroupOrThrow(commandParameters, group, GROUP_POSITION);
+        this.validateStatOrThrow(commandParameters, null, stat, STAT_POSITION);
+        this.validateBoardOrThrow(commandParameters, board, BOARD_POSITION);
+
         try {
-            return this.getApiClient().getGroupClient().getPlayerStats(
-                    group,
-                    playerName,
-                    stat,
-                    board,
-                    zonedDateTime,
-                    filterReasons,
-                    false
+            return this.executeApiCall(
+                    () -> this.getApiClient().getGroupClient().getPlayerStats(
+                            group,
+                            playerName,
+                            stat,
+                            board,
+                            zonedDateTime,
+                            filterReasons,
+                            false
+                    ),
+                    "groupPlayerStats",
+                    group.toLowerCase(Locale.ROOT),
+                    playerName.toLowerCase(Locale.ROOT),
+                    stat.toLowerCase(Locale.ROOT),
+                    board.toLowerCase(Locale.ROOT),
+                    getRequestedTime(commandParameters, TIME_POSITION, zonedDateTime),
+                    Set.copyOf(filterReasons)
             );
         } catch (final InvalidBoardNameException exception) {
             this.throwArgumentCorrectionMessage(
@@ -175,7 +193,6 @@ public class GroupPlayerStatsCommand extends BaseStatsCommand<JavaPlayer> {
         );
     }
 
-    @SneakyThrows
     @Override
     protected CommandResult onStatsCommand(final CommandParameters commandParameters) {
         final String playerName = JavaArgumentParsingUtilities.getJavaPlayerNameOrThrow(commandParameters, 0);
@@ -183,10 +200,15 @@ public class GroupPlayerStatsCommand extends BaseStatsCommand<JavaPlayer> {
         final String groupName = this.getArg(commandParameters, GROUP_POSITION);
         final String stat = this.getArg(commandParameters, STAT_POSITION);
         final String board = this.getArgOrDefault(commandParameters, BOARD_POSITION, ArgumentParsingUtilities.getDefaultBoard());
-        final ZonedDateTime zonedDateTime = ArgumentParsingUtilities.getDateTimeOrThrow(commandParameters, 4);
+        final ZonedDateTime zonedDateTime = ArgumentParsingUtilities.getDateTimeOrThrow(commandParameters, TIME_POSITION);
         final Set<Reason> filterReasons = this.getFilterReasons(commandParameters);
 
-        final CompletableFuture<BufferedImage> skinFuture = JavaUtilities.getPlayerSkin(playerUUID);
+        // The skin is fetched while we wait for the stats
+        final CompletableFuture<byte[]> skinFuture = JavaUtilities.getPlayerSkin(
+                playerUUID,
+                this.skinDeadlineMillis,
+                TimeUnit.MILLISECONDS
+        );
         final Optional<GroupPlayerStats<JavaPlayer>> playerStatsOpt = this.getPlayerStats(
                 commandParameters,
                 playerName,
@@ -207,21 +229,18 @@ public class GroupPlayerStatsCommand extends BaseStatsCommand<JavaPlayer> {
         final String formattedSaveTime = FormationUtilities.getFormattedTime(parserResult.getHighestTime());
         final String subHeader = "Java - " + formattedSaveTime;
 
-        BufferedImage skin;
-        try {
-            skin = skinFuture.get(10, TimeUnit.SECONDS);
-        } catch (final ExecutionException | TimeoutException e) {
-            skin = null;
-        }
-
+        // Render as soon as the skin is available or the deadline passed
         return this.sendPicture(
                 commandParameters,
-                new PictureTable(
-                        parserResult.getHeader(),
-                        subHeader,
-                        parserResult.getLeaderboard(),
-                        skin
-                ).generatePicture(),
+                skinFuture.thenApplyAsync(skin ->
+                        new PictureTable(
+                                parserResult.getHeader(),
+                                subHeader,
+                                parserResult.getLeaderboard(),
+                                skin,
+                                JavaUtilities.getSkinHash(skin).orElse(null)
+                        )
+                ),
                 String.format("%s-%s", String.join("-", parserResult.getHeader()), subHeader)
         );
     }
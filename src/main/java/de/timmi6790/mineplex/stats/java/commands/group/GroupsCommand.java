@@ -3,6 +3,7 @@ package de.timmi6790.mineplex.stats.java.commands.group;
 import de.timmi6790.discord_framework.module.modules.command.CommandParameters;
 import de.timmi6790.discord_framework.module.modules.command.CommandResult;
 import de.timmi6790.discord_framework.utilities.commons.ListUtilities;
+import de.timmi6790.mineplex.stats.common.catalog.CatalogDerivedValue;
 import de.timmi6790.mineplex.stats.common.commands.BaseStatsCommand;
 import de.timmi6790.mpstats.api.client.common.BaseApiClient;
 import de.timmi6790.mpstats.api.client.common.game.models.Game;
@@ -17,6 +18,8 @@ import java.util.Objects;
 public class GroupsCommand extends BaseStatsCommand<JavaPlayer> {
     private static final int GROUP_POSITION = 0;
 
+    private final CatalogDerivedValue<String> groupListing;
+
     public GroupsCommand(final BaseApiClient<JavaPlayer> apiClient) {
         super(
                 apiClient,
@@ -25,19 +28,34 @@ public class GroupsCommand extends BaseStatsCommand<JavaPlayer> {
                 "Groups",
                 "[group]"
         );
-    }
 
-    protected CommandResult handleAllGroupsCommand(final CommandParameters commandParameters) {
-        final List<Group> groups = this.getApiClient().getGroupClient().getGroups();
+        this.groupListing = new CatalogDerivedValue<>(
+                this.getMetadataCatalog(),
+                // A catalog without groups falls back to the api
+                snapshot -> snapshot.getGroups().isEmpty() ? null : this.getGroupListing(snapshot.getGroups())
+        );
+    }
 
+    private String getGroupListing(final List<Group> groups) {
         final List<String> groupNames = ListUtilities.toStringList(groups, Group::getGroupName);
         groupNames.sort(Comparator.naturalOrder());
+        return String.join("\n", groupNames);
+    }
+
+    protected CommandResult handleAllGroupsCommand(final CommandParameters commandParameters) {
+        // Fall back to the api until the catalog is loaded
+        final String groupListing = this.groupListing.get()
+                .orElseGet(() -> this.getGroupListing(this.getApiClient().getGroupClient().getGroups()));
+        if (groupListing.isEmpty()) {
+            this.sendErrorMessage(commandParameters, "The groups are currently unavailable.");
+            return CommandResult.ERROR;
+        }
 
         this.sendTimedMessage(
                 commandParameters,
                 this.getEmbedBuilder(commandParameters)
                         .setTitle("Java Groups")
-                        .setDescription(String.join("\n", groupNames))
+                        .setDescription(groupListing)
                         .setFooterFormat(
                                 "TIP: Run %s %s <group> to see more details",
                                 this.getCommandModule().getMainCommand(),
@@ -49,6 +67,8 @@ public class GroupsCommand extends BaseStatsCommand<JavaPlayer> {
     }
 
     protected CommandResult handleGroupCommand(final CommandParameters commandParameters, final String groupName) {
+        this.validateGroupOrThrow(commandParameters, groupName, GROUP_POSITION);
+
         final Group group;
         try {
             group = this.getApiClient().getGroupClient().getGroup(groupName);
@@ -30,7 +30,6 @@ public class JavaGamesCommand extends GamesCommand<JavaPlayer> {
     }
 
     private CommandResult handleGamesCommand(final CommandParameters commandParameters) {
-        final List<Game> games = this.getApiClient().getGameClient().getGames();
         final MultiEmbedBuilder message = this.getEmbedBuilder(commandParameters)
                 .setTitle("Java Games")
                 .setFooterFormat(
@@ -41,13 +40,15 @@ public class JavaGamesCommand extends GamesCommand<JavaPlayer> {
 
         this.sendTimedMessage(
                 commandParameters,
-                this.parseGames(games, message),
+                this.addGameFields(message),
                 600
         );
         return CommandResult.SUCCESS;
     }
 
     private CommandResult handleGameInfoCommand(final CommandParameters commandParameters, final String gameName) {
+        this.validateGameOrThrow(commandParameters, gameName, GAME_POSITION);
+
         // Get leaderboards
         final List<Leaderboard> gameLeaderboards;
         try {
@@ -128,6 +129,9 @@ public class JavaGamesCommand extends GamesCommand<JavaPlayer> {
     private CommandResult handleStatInfoCommand(final CommandParameters commandParameters,
                                                 final String gameName,
                                                 final String statName) {
+        this.validateGameOrThrow(commandParameters, gameName, GAME_POSITION);
+        this.validateStatOrThrow(commandParameters, gameName, statName, STAT_POSITION);
+
         // Get leaderboards
         final List<Leaderboard> statLeaderboards;
         try {
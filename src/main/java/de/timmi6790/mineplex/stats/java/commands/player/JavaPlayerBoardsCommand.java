@@ -0,0 +1,199 @@
+package de.timmi6790.mineplex.stats.java.commands.player;
+
+import de.timmi6790.discord_framework.module.modules.command.CommandParameters;
+import de.timmi6790.discord_framework.module.modules.command.CommandResult;
+import de.timmi6790.discord_framework.module.modules.command.exceptions.CommandReturnException;
+import de.timmi6790.discord_framework.module.modules.command.property.properties.MinArgCommandProperty;
+import de.timmi6790.minecraft.utilities.JavaUtilities;
+import de.timmi6790.mineplex.stats.common.BaseMineplexStatsModule;
+import de.timmi6790.mineplex.stats.common.Config;
+import de.timmi6790.mineplex.stats.common.catalog.CatalogSnapshot;
+import de.timmi6790.mineplex.stats.common.catalog.FuzzyIndex;
+import de.timmi6790.mineplex.stats.common.commands.BaseStatsCommand;
+import de.timmi6790.mineplex.stats.common.generators.picture.PictureTable;
+import de.timmi6790.mineplex.stats.common.models.ParserResult;
+import de.timmi6790.mineplex.stats.common.utilities.ArgumentParsingUtilities;
+import de.timmi6790.mineplex.stats.common.utilities.ErrorMessageUtilities;
+import de.timmi6790.mineplex.stats.common.utilities.FormationUtilities;
+import de.timmi6790.mineplex.stats.common.utilities.SetUtilities;
+import de.timmi6790.mineplex.stats.java.utilities.JavaArgumentParsingUtilities;
+import de.timmi6790.mpstats.api.client.common.BaseApiClient;
+import de.timmi6790.mpstats.api.client.common.board.models.Board;
+import de.timmi6790.mpstats.api.client.common.filter.models.Reason;
+import de.timmi6790.mpstats.api.client.common.game.exceptions.InvalidGameNameRestException;
+import de.timmi6790.mpstats.api.client.common.game.models.Game;
+import de.timmi6790.mpstats.api.client.common.player.models.PlayerEntry;
+import de.timmi6790.mpstats.api.client.common.player.models.PlayerStats;
+import de.timmi6790.mpstats.api.client.java.JavaMpStatsApiClient;
+import de.timmi6790.mpstats.api.client.java.player.models.JavaPlayer;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Player stats of one game for all boards in one table. The boards are requested in parallel and the table contains
+ * all boards that arrived before the fan out deadline.
+ */
+public class JavaPlayerBoardsCommand extends BaseStatsCommand<JavaPlayer> {
+    private static final List<String> BOARDS = List.of("All", "Yearly", "Monthly", "Weekly", "Daily");
+
+    private static final int GAME_POSITION = 1;
+    private static final int TIME_POSITION = 2;
+
+    private final long skinDeadlineMillis;
+    private final long fanOutDeadlineMillis;
+
+    public JavaPlayerBoardsCommand(final BaseApiClient<JavaPlayer> baseApiClient) {
+        super(
+                baseApiClient,
+                "playerBoards",
+                "Java",
+                "Check player stats of all boards",
+                "<player> <game> [dateTime]",
+                "plb", "plboards"
+        );
+
+        final Config config = this.getModuleOrThrow(BaseMineplexStatsModule.class).getConfig();
+        this.skinDeadlineMillis = config.getSkin().getDeadlineMillis();
+        this.fanOutDeadlineMillis = config.getCommandExecution().getFanOutDeadlineMillis();
+
+        this.addProperties(
+                new MinArgCommandProperty(2)
+        );
+    }
+
+    private List<String> getBoards() {
+        // Boards that the catalog doesn't know are not requested
+        final Optional<CatalogSnapshot> snapshotOpt = this.getMetadataCatalog().getSnapshot();
+        if (snapshotOpt.isEmpty() || snapshotOpt.get().getBoardIndex().size() == 0) {
+            return BOARDS;
+        }
+
+        final FuzzyIndex<Board> boardIndex = snapshotOpt.get().getBoardIndex();
+        final List<String> boards = new ArrayList<>(BOARDS.size());
+        for (final String board : BOARDS) {
+            if (boardIndex.find(board).isPresent()) {
+                boards.add(board);
+            }
+        }
+        return boards.isEmpty() ? BOARDS : boards;
+    }
+
+    private CompletableFuture<Optional<PlayerStats<JavaPlayer>>> requestBoard(final UUID playerUUID,
+                                                                              final String game,
+                                                                              final String board,
+                                                                              final ZonedDateTime zonedDateTime,
+                                                                              @Nullable final ZonedDateTime requestedTime,
+                                                                              final Set<Reason> filterReasons) {
+        // Same call as the player command, both share in flight requests
+        return this.executeApiCallAsync(
+                () -> ((JavaMpStatsApiClient) this.getApiClient()).getPlayerClient().getPlayerGameStats(
+                        playerUUID,
+                        game,
+                        board,
+                        true,
+                        zonedDateTime,
+                        filterReasons
+                ),
+                "playerGameStats",
+                playerUUID,
+                game.toLowerCase(Locale.ROOT),
+                board.toLowerCase(Locale.ROOT),
+                requestedTime,
+                Set.copyOf(filterReasons)
+        );
+    }
+
+    private void throwInvalidGame(final CommandParameters commandParameters,
+                                  final String game,
+                                  final InvalidGameNameRestException exception) {
+        this.throwArgumentCorrectionMessage(
+                commandParameters,
+                game,
+                GAME_POSITION,
+                "game",
+                null,
+                new String[0],
+                exception.getSuggestedGames(),
+                Game::getGameName
+        );
+        throw new CommandReturnException();
+    }
+
+    protected ParserResult parseBoardStats(final Map<String, PlayerStats<JavaPlayer>> boardStats) {
+        final PlayerStats<JavaPlayer> firstStats = boardStats.values().iterator().next();
+        final PlayerEntry foundEntry = SetUtilities.getFirstEntry(firstStats.getStats());
+        final String[] tableHeader = new String[]{
+                firstStats.getPlayer().getName(),
+                foundEntry == null ? "Unknown" : foundEntry.getLeaderboard().getGame().getGameName()
+        };
+        return PlayerStatsMatrix.parse(boardStats, tableHeader);
+    }
+
+    @Override
+    protected CommandResult onStatsCommand(final CommandParameters commandParameters) {
+        final String playerName = JavaArgumentParsingUtilities.getJavaPlayerNameOrThrow(commandParameters, 0);
+        final UUID playerUUID = JavaArgumentParsingUtilities.getPlayerUUIDOrThrow(commandParameters, playerName);
+        final String game = this.getArg(commandParameters, GAME_POSITION);
+        final ZonedDateTime zonedDateTime = ArgumentParsingUtilities.getDateTimeOrThrow(commandParameters, TIME_POSITION);
+        final ZonedDateTime requestedTime = getRequestedTime(commandParameters, TIME_POSITION, zonedDateTime);
+        final Set<Reason> filterReasons = ArgumentParsingUtilities.getFilterReasons(commandParameters);
+
+        this.validateGameOrThrow(commandParameters, game, GAME_POSITION);
+
+        // The skin and all boards are fetched at the same time
+        final CompletableFuture<byte[]> skinFuture = JavaUtilities.getPlayerSkin(
+                playerUUID,
+                this.skinDeadlineMillis,
+                TimeUnit.MILLISECONDS
+        );
+        final List<String> boards = this.getBoards();
+        final Map<String, CompletableFuture<Optional<PlayerStats<JavaPlayer>>>> boardFutures = new LinkedHashMap<>();
+        for (final String board : boards) {
+            boardFutures.put(
+                    board,
+                    this.requestBoard(playerUUID, game, board, zonedDateTime, requestedTime, filterReasons)
+            );
+        }
+
+        final Map<String, PlayerStats<JavaPlayer>> boardStats = PlayerStatsMatrix.awaitAll(
+                boardFutures,
+                this.fanOutDeadlineMillis,
+                exception -> this.throwInvalidGame(commandParameters, game, exception)
+        );
+        if (boardStats.isEmpty()) {
+            ErrorMessageUtilities.sendNotDataFoundMessage(commandParameters);
+            return CommandResult.SUCCESS;
+        }
+
+        final ParserResult parserResult = this.parseBoardStats(boardStats);
+
+        final StringJoiner subHeader = new StringJoiner(" - ");
+        subHeader.add("Java");
+        subHeader.add(FormationUtilities.getFormattedTime(parserResult.getHighestTime()));
+        final List<String> missingBoards = new ArrayList<>(boards);
+        missingBoards.removeAll(boardStats.keySet());
+        if (!missingBoards.isEmpty()) {
+            subHeader.add("Missing " + String.join(", ", missingBoards));
+        }
+        final String subHeaderText = subHeader.toString();
+
+        // Render as soon as the skin is available or the deadline passed
+        return this.sendPicture(
+                commandParameters,
+                skinFuture.thenApplyAsync(skin ->
+                        new PictureTable(
+                                parserResult.getHeader(),
+                                subHeaderText,
+                                parserResult.getLeaderboard(),
+                                skin,
+                                JavaUtilities.getSkinHash(skin).orElse(null)
+                        )
+                ),
+                String.format("%s-%s", String.join("-", parserResult.getHeader()), subHeaderText)
+        );
+    }
+}
@@ -6,6 +6,7 @@ import de.timmi6790.discord_framework.module.modules.command.CommandResult;
 import de.timmi6790.discord_framework.module.modules.command.exceptions.CommandReturnException;
 import de.timmi6790.discord_framework.module.modules.command.property.properties.MinArgCommandProperty;
 import de.timmi6790.minecraft.utilities.JavaUtilities;
+import de.timmi6790.mineplex.stats.common.BaseMineplexStatsModule;
 import de.timmi6790.mineplex.stats.common.commands.BaseStatsCommand;
 import de.timmi6790.mineplex.stats.common.generators.picture.PictureTable;
 import de.timmi6790.mineplex.stats.common.models.ParserResult;
@@ -27,23 +28,22 @@ import de.timmi6790.mpstats.api.client.common.player.models.PlayerStats;
 import de.timmi6790.mpstats.api.client.common.stat.models.Stat;
 import de.timmi6790.mpstats.api.client.java.JavaMpStatsApiClient;
 import de.timmi6790.mpstats.api.client.java.player.models.JavaPlayer;
-import lombok.SneakyThrows;
 
-import java.awt.image.BufferedImage;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 
 public class JavaPlayerCommand extends BaseStatsCommand<JavaPlayer> {
     private static final int ROW_SOFT_LIMIT = 20;
 
     private static final int GAME_POSITION = 1;
     private static final int BOARD_POSITION = 2;
+    private static final int TIME_POSITION = 3;
+
+    private final long skinDeadlineMillis;
 
     public JavaPlayerCommand(final BaseApiClient<JavaPlayer> baseApiClient) {
         this(
@@ -66,25 +66,58 @@ public class JavaPlayerCommand extends BaseStatsCommand<JavaPlayer> {
                 aliasNames
         );
 
+        this.skinDeadlineMillis = this.getModuleOrThrow(BaseMineplexStatsModule.class)
+                .getConfig()
+                .getSkin()
+                .getDeadlineMillis();
+
         this.addProperties(
                 new MinArgCommandProperty(2)
         );
     }
 
+    static int compareStats(final Stat stat1, final Stat stat2) {
+        // Achievements are always at the bottom
+        // Highest sorting priority at the top
+        // If same priority lexicographic
+        final int stat1Priority = stat1.getSortingPriority();
+        final int stat2Priority = stat2.getSortingPriority();
+        if (stat1Priority != stat2Priority) {
+            return Integer.compare(stat2Priority, stat1Priority);
+        }
+
+        if (stat1.isAchievement() != stat2.isAchievement()) {
+            return stat1.isAchievement() ? 1 : -1;
+        }
+
+        return stat1.getCleanName().compareTo(stat2.getCleanName());
+    }
+
     protected Optional<PlayerStats<JavaPlayer>> getPlayerStats(final CommandParameters commandParameters,
                                                                final UUID playerUUID,
                                                                final String game,
                                                                final String board,
                                                                final ZonedDateTime zonedDateTime,
                                                                final Set<Reason> filterReasons) {
+        this.validateGameOrThrow(commandParameters, game, GAME_POSITION);
+        this.validateBoardOrThrow(commandParameters, board, BOARD_POSITION);
+
         try {
-            return ((JavaMpStatsApiClient) this.getApiClient()).getPlayerClient().getPlayerGameStats(
+            return this.executeApiCall(
+                    () -> ((JavaMpStatsApiClient) this.getApiClient()).getPlayerClient().getPlayerGameStats(
+                            playerUUID,
+                            game,
+                            board,
+                            true,
+                            zonedDateTime,
+                            filterReasons
+                    ),
+                    "playerGameStats",
                     playerUUID,
-                    game,
-                    board,
-                    true,
-                    zonedDateTime,
-                    filterReasons
+                    game.toLowerCase(Locale.ROOT),
+                    board.toLowerCase(Locale.ROOT),
+                    getRequestedTime(commandParameters, TIME_POSITION, zonedDateTime),
+                    Set.copyOf(filterReasons)
             );
         } catch (final InvalidGameNameRestException exception) {
             this.throwArgumentCorrectionMessage(
@@ -118,7 +151,7 @@ public class JavaPlayerCommand extends BaseStatsCommand<JavaPlayer> {
         return ArgumentParsingUtilities.getFilterReasons(commandParameters);
     }
 
-    protected String[] getTableHeader(final PlayerStats<JavaPlayer> playerStats) {
+    static String[] getTableHeader(final PlayerStats<JavaPlayer> playerStats) {
         final PlayerEntry foundEntry = SetUtilities.getFirstEntry(playerStats.getStats());
         if (foundEntry == null) {
             return new String[]{
@@ -135,7 +168,7 @@ public class JavaPlayerCommand extends BaseStatsCommand<JavaPlayer> {
         }
     }
 
-    protected ParserResult parsePlayerStats(final PlayerStats<JavaPlayer> playerStats) {
+    static ParserResult parsePlayerStats(final PlayerStats<JavaPlayer> playerStats) {
         final List<String[]> parsed = Lists.newArrayListWithCapacity(playerStats.getGeneratedStats().size() + playerStats.getStats().size() + 1);
         parsed.add(new String[]{"Stat", "Score", "Position"});
 
@@ -152,26 +185,10 @@ public class JavaPlayerCommand extends BaseStatsCommand<JavaPlayer> {
         }
 
         final List<PlayerEntry> statEntries = new ArrayList<>(playerStats.getStats());
-        statEntries.sort((object1, object2) -> {
-            // Achievements are always at the bottom
-            // Highest sorting priority at the top
-            // If same priority lexicographic
-
-            final Stat stat1 = object1.getLeaderboard().getStat();
-            final Stat stat2 = object2.getLeaderboard().getStat();
-
-            final int stat1Priority = stat1.getSortingPriority();
-            final int stat2Priority = stat2.getSortingPriority();
-            if (stat1Priority != stat2Priority) {
-                return Integer.compare(stat2Priority, stat1Priority);
-            }
-
-            if (!(stat1.isAchievement() && stat2.isAchievement())) {
-                return stat1.isAchievement() ? 1 : -1;
-            }
-
-            return stat1.getCleanName().compareTo(stat2.getCleanName());
-        });
+        statEntries.sort((object1, object2) -> compareStats(
+                object1.getLeaderboard().getStat(),
+                object2.getLeaderboard().getStat()
+        ));
 
         final int totalEntries = generatedStats.size() + statEntries.size();
         final boolean aboveLimit = totalEntries > ROW_SOFT_LIMIT;
@@ -195,7 +212,7 @@ public class JavaPlayerCommand extends BaseStatsCommand<JavaPlayer> {
             );
         }
 
-        final String[] tableHeader = this.getTableHeader(playerStats);
+        final String[] tableHeader = getTableHeader(playerStats);
         final String[][] leaderboard = parsed.toArray(new String[0][3]);
         return new ParserResult(
                 leaderboard,
@@ -204,17 +221,21 @@ public class JavaPlayerCommand extends BaseStatsCommand<JavaPlayer> {
         );
     }
 
-    @SneakyThrows
     @Override
     protected CommandResult onStatsCommand(final CommandParameters commandParameters) {
         final String playerName = JavaArgumentParsingUtilities.getJavaPlayerNameOrThrow(commandParameters, 0);
         final UUID playerUUID = JavaArgumentParsingUtilities.getPlayerUUIDOrThrow(commandParameters, playerName);
         final String game = this.getArg(commandParameters, GAME_POSITION);
         final String board = this.getArgOrDefault(commandParameters, BOARD_POSITION, ArgumentParsingUtilities.getDefaultBoard());
-        final ZonedDateTime zonedDateTime = ArgumentParsingUtilities.getDateTimeOrThrow(commandParameters, 3);
+        final ZonedDateTime zonedDateTime = ArgumentParsingUtilities.getDateTimeOrThrow(commandParameters, TIME_POSITION);
         final Set<Reason> filterReasons = this.getFilterReasons(commandParameters);
 
-        final CompletableFuture<BufferedImage> skinFuture = JavaUtilities.getPlayerSkin(playerUUID);
+        // The skin is fetched while we wait for the stats
+        final CompletableFuture<byte[]> skinFuture = JavaUtilities.getPlayerSkin(
+                playerUUID,
+                this.skinDeadlineMillis,
+                TimeUnit.MILLISECONDS
+        );
         final Optional<PlayerStats<JavaPlayer>> playerStatsOpt = this.getPlayerStats(
                 commandParameters,
                 playerUUID,
@@ -229,26 +250,23 @@ public class JavaPlayerCommand extends BaseStatsCommand<JavaPlayer> {
         }
 
         final PlayerStats<JavaPlayer> playerStats = playerStatsOpt.get();
-        final ParserResult parserResult = this.parsePlayerStats(playerStats);
+        final ParserResult parserResult = parsePlayerStats(playerStats);
 
         final String formattedSaveTime = FormationUtilities.getFormattedTime(parserResult.getHighestTime());
         final String subHeader = "Java - " + formattedSaveTime;
 
-        BufferedImage skin;
-        try {
-            skin = skinFuture.get(10, TimeUnit.SECONDS);
-        } catch (final ExecutionException | TimeoutException e) {
-            skin = null;
-        }
-
+        // Render as soon as the skin is available or the deadline passed
         return this.sendPicture(
                 commandParameters,
-                new PictureTable(
-                        parserResult.getHeader(),
-                        subHeader,
-                        parserResult.getLeaderboard(),
-                        skin
-                ).generatePicture(),
+                skinFuture.thenApplyAsync(skin ->
+                        new PictureTable(
+                                parserResult.getHeader(),
+                                subHeader,
+                                parserResult.getLeaderboard(),
+                                skin,
+                                JavaUtilities.getSkinHash(skin).orElse(null)
+                        )
+                ),
                 String.format("%s-%s", String.join("-", parserResult.getHeader()), subHeader)
         );
     }
@@ -0,0 +1,197 @@
+package de.timmi6790.mineplex.stats.java.commands.player;
+
+import de.timmi6790.discord_framework.module.modules.command.CommandParameters;
+import de.timmi6790.discord_framework.module.modules.command.CommandResult;
+import de.timmi6790.discord_framework.module.modules.command.exceptions.CommandReturnException;
+import de.timmi6790.discord_framework.module.modules.command.property.properties.MinArgCommandProperty;
+import de.timmi6790.minecraft.utilities.JavaUtilities;
+import de.timmi6790.mineplex.stats.common.BaseMineplexStatsModule;
+import de.timmi6790.mineplex.stats.common.commands.BaseStatsCommand;
+import de.timmi6790.mineplex.stats.common.generators.picture.PictureTable;
+import de.timmi6790.mineplex.stats.common.models.ParserResult;
+import de.timmi6790.mineplex.stats.common.utilities.ArgumentParsingUtilities;
+import de.timmi6790.mineplex.stats.common.utilities.ErrorMessageUtilities;
+import de.timmi6790.mineplex.stats.common.utilities.FormationUtilities;
+import de.timmi6790.mineplex.stats.common.utilities.SetUtilities;
+import de.timmi6790.mineplex.stats.java.utilities.JavaArgumentParsingUtilities;
+import de.timmi6790.mpstats.api.client.common.BaseApiClient;
+import de.timmi6790.mpstats.api.client.common.filter.models.Reason;
+import de.timmi6790.mpstats.api.client.common.game.exceptions.InvalidGameNameRestException;
+import de.timmi6790.mpstats.api.client.common.game.models.Game;
+import de.timmi6790.mpstats.api.client.common.player.models.PlayerEntry;
+import de.timmi6790.mpstats.api.client.common.player.models.PlayerStats;
+import de.timmi6790.mpstats.api.client.java.JavaMpStatsApiClient;
+import de.timmi6790.mpstats.api.client.java.player.models.JavaPlayer;
+
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Compares the stats of multiple players of one game and board. The names of all players are resolved and their stats
+ * requested at the same time, the picture contains all players that arrived before the fan out deadline.
+ */
+public class JavaPlayerCompareCommand extends BaseStatsCommand<JavaPlayer> {
+    private static final int GAME_POSITION = 0;
+    private static final int BOARD_POSITION = 1;
+    private static final int PLAYER_START_POSITION = 2;
+    private static final int MAXIMUM_PLAYERS = 8;
+
+    private final long fanOutDeadlineMillis;
+
+    public JavaPlayerCompareCommand(final BaseApiClient<JavaPlayer> baseApiClient) {
+        super(
+                baseApiClient,
+                "comparePlayers",
+                "Java",
+                "Compare the stats of up to " + MAXIMUM_PLAYERS + " players",
+                "<game> <board> <player> <player> [player...]",
+                "compare", "cpl"
+        );
+
+        this.fanOutDeadlineMillis = this.getModuleOrThrow(BaseMineplexStatsModule.class)
+                .getConfig()
+                .getCommandExecution()
+                .getFanOutDeadlineMillis();
+
+        this.addProperties(
+                new MinArgCommandProperty(PLAYER_START_POSITION + 2)
+        );
+    }
+
+    private CompletableFuture<Optional<PlayerStats<JavaPlayer>>> requestPlayer(final String playerName,
+                                                                               final String game,
+                                                                               final String board,
+                                                                               final Set<Reason> filterReasons) {
+        // Players without uuid have no stats
+        return CompletableFuture.supplyAsync(() -> JavaUtilities.getPlayerUUID(playerName), this.getApiExecutor())
+                .thenCompose(playerUUIDOpt -> {
+                    if (playerUUIDOpt.isEmpty()) {
+                        return CompletableFuture.completedFuture(Optional.empty());
+                    }
+
+                    final UUID playerUUID = playerUUIDOpt.get();
+                    // Same call as the player command, both share in flight requests
+                    return this.executeApiCallAsync(
+                            () -> ((JavaMpStatsApiClient) this.getApiClient()).getPlayerClient().getPlayerGameStats(
+                                    playerUUID,
+                                    game,
+                                    board,
+                                    true,
+                                    ZonedDateTime.now(),
+                                    filterReasons
+                            ),
+                            "playerGameStats",
+                            playerUUID,
+                            game.toLowerCase(Locale.ROOT),
+                            board.toLowerCase(Locale.ROOT),
+                            null,
+                            Set.copyOf(filterReasons)
+                    );
+                });
+    }
+
+    private void throwInvalidGame(final CommandParameters commandParameters,
+                                  final String game,
+                                  final InvalidGameNameRestException exception) {
+        this.throwArgumentCorrectionMessage(
+                commandParameters,
+                game,
+                GAME_POSITION,
+                "game",
+                null,
+                new String[0],
+                exception.getSuggestedGames(),
+                Game::getGameName
+        );
+        throw new CommandReturnException();
+    }
+
+    protected ParserResult parsePlayerStats(final Map<String, PlayerStats<JavaPlayer>> playerStats,
+                                            final String game,
+                                            final String board) {
+        // Columns are named after the players, with the name capitalisation of the api
+        final Map<String, PlayerStats<JavaPlayer>> columnStats = new LinkedHashMap<>();
+        for (final PlayerStats<JavaPlayer> stats : playerStats.values()) {
+            columnStats.put(stats.getPlayer().getName(), stats);
+        }
+
+        final PlayerEntry foundEntry = SetUtilities.getFirstEntry(playerStats.values().iterator().next().getStats());
+        final String[] tableHeader;
+        if (foundEntry == null) {
+            tableHeader = new String[]{game, board};
+        } else {
+            tableHeader = new String[]{
+                    foundEntry.getLeaderboard().getGame().getGameName(),
+                    foundEntry.getLeaderboard().getBoard().getBoardName()
+            };
+        }
+        return PlayerStatsMatrix.parse(columnStats, tableHeader);
+    }
+
+    @Override
+    protected CommandResult onStatsCommand(final CommandParameters commandParameters) {
+        final String game = this.getArg(commandParameters, GAME_POSITION);
+        final String board = this.getArg(commandParameters, BOARD_POSITION);
+        this.validateGameOrThrow(commandParameters, game, GAME_POSITION);
+        this.validateBoardOrThrow(commandParameters, board, BOARD_POSITION);
+
+        // Duplicated players are only requested once, players above the maximum are skipped and listed in the sub header
+        final Map<String, String> playerNames = new LinkedHashMap<>();
+        final Map<String, String> skippedPlayerNames = new LinkedHashMap<>();
+        for (int position = PLAYER_START_POSITION; commandParameters.getArgs().length > position; position++) {
+            final String playerName = JavaArgumentParsingUtilities.getJavaPlayerNameOrThrow(commandParameters, position);
+            final String playerKey = playerName.toLowerCase(Locale.ROOT);
+            if (playerNames.containsKey(playerKey)) {
+                continue;
+            }
+
+            if (playerNames.size() >= MAXIMUM_PLAYERS) {
+                skippedPlayerNames.putIfAbsent(playerKey, playerName);
+            } else {
+                playerNames.put(playerKey, playerName);
+            }
+        }
+        final Set<Reason> filterReasons = ArgumentParsingUtilities.getFilterReasons(commandParameters);
+
+        final Map<String, CompletableFuture<Optional<PlayerStats<JavaPlayer>>>> playerFutures = new LinkedHashMap<>();
+        for (final String playerName : playerNames.values()) {
+            playerFutures.put(playerName, this.requestPlayer(playerName, game, board, filterReasons));
+        }
+
+        final Map<String, PlayerStats<JavaPlayer>> playerStats = PlayerStatsMatrix.awaitAll(
+                playerFutures,
+                this.fanOutDeadlineMillis,
+                exception -> this.throwInvalidGame(commandParameters, game, exception)
+        );
+        if (playerStats.isEmpty()) {
+            ErrorMessageUtilities.sendNotDataFoundMessage(commandParameters);
+            return CommandResult.SUCCESS;
+        }
+
+        final ParserResult parserResult = this.parsePlayerStats(playerStats, game, board);
+
+        final StringJoiner subHeader = new StringJoiner(" - ");
+        subHeader.add("Java");
+        subHeader.add(FormationUtilities.getFormattedTime(parserResult.getHighestTime()));
+        final List<String> missingPlayers = new ArrayList<>(playerNames.values());
+        missingPlayers.removeAll(playerStats.keySet());
+        if (!missingPlayers.isEmpty()) {
+            subHeader.add("Missing " + String.join(", ", missingPlayers));
+        }
+        if (!skippedPlayerNames.isEmpty()) {
+            subHeader.add("Skipped " + String.join(", ", skippedPlayerNames.values()));
+        }
+        final String subHeaderText = subHeader.toString();
+
+        return this.sendPicture(
+                commandParameters,
+                new PictureTable(
+                        parserResult.getHeader(),
+                        subHeaderText,
+                        parserResult.getLeaderboard()
+                ),
+                String.format("%s-%s", String.join("-", parserResult.getHeader()), subHeaderText)
+        );
+    }
+}
@@ -1,15 +1,15 @@
 package de.timmi6790.mineplex.stats.java.commands.player;
 
 import com.google.common.collect.Lists;
-import com.googlecode.charts4j.GCharts;
-import com.googlecode.charts4j.PieChart;
-import com.googlecode.charts4j.Slice;
 import de.timmi6790.discord_framework.module.modules.command.CommandParameters;
 import de.timmi6790.discord_framework.module.modules.command.CommandResult;
 import de.timmi6790.discord_framework.module.modules.command.exceptions.CommandReturnException;
 import de.timmi6790.discord_framework.module.modules.command.property.properties.MinArgCommandProperty;
 import de.timmi6790.mineplex.stats.common.commands.BaseStatsCommand;
+import de.timmi6790.mineplex.stats.common.generators.picture.PicturePie;
+import de.timmi6790.mineplex.stats.common.models.PieSlice;
 import de.timmi6790.mineplex.stats.common.settings.DisclaimerMessagesSetting;
+import de.timmi6790.mineplex.stats.common.settings.UserSettingsSnapshot;
 import de.timmi6790.mineplex.stats.common.utilities.ArgumentParsingUtilities;
 import de.timmi6790.mineplex.stats.common.utilities.ErrorMessageUtilities;
 import de.timmi6790.mineplex.stats.common.utilities.FormationUtilities;
@@ -47,6 +47,7 @@ public class JavaPlayerStatsRatioCommand extends BaseStatsCommand<JavaPlayer> {
 
     private static final int STAT_POSITION = 1;
     private static final int BOARD_POSITION = 2;
+    private static final int TIME_POSITION = 3;
 
     public JavaPlayerStatsRatioCommand(final BaseApiClient<JavaPlayer> apiClient) {
         super(
@@ -63,18 +64,6 @@ public class JavaPlayerStatsRatioCommand extends BaseStatsCommand<JavaPlayer> {
         );
     }
 
-    private String generatePieUrl(final PieChart gCharts) {
-        String url = gCharts.toURLString();
-        // Series colours | RED, YELLOW_GREEN, GREEN, BLUE, PURPLE
-        url += "&chco=FF0000,ADFF2F,00FF00,0000FF,a020f0";
-        // Legend colour and size
-        url += "&chdls=ffffff,15";
-        // Legend order
-        url += "&chdlp=r|a";
-
-        return url;
-    }
-
     private float calculatePercentage(final long value, final long totalValue) {
         if (totalValue == 0 || value == 0) {
             return 0;
@@ -85,7 +74,7 @@ public class JavaPlayerStatsRatioCommand extends BaseStatsCommand<JavaPlayer> {
 
     private CalculatedPie parseSlices(final long totalValue, final List<PlayerEntry> entries) {
         ZonedDateTime biggestTime = LocalDateTime.MIN.atZone(ZoneId.systemDefault());
-        final List<Slice> slices = Lists.newArrayListWithExpectedSize(entries.size());
+        final List<PieSlice> slices = Lists.newArrayListWithExpectedSize(entries.size());
         long foundSum = 0;
         for (final PlayerEntry entry : entries) {
             // We need to ignore the global game, because it represents 100%
@@ -99,34 +88,33 @@ public class JavaPlayerStatsRatioCommand extends BaseStatsCommand<JavaPlayer> {
                 biggestTime = entry.getSaveTime();
             }
 
-            slices.add(Slice.newSlice(
-                    (int) Math.round(percentage * 100),
+            slices.add(new PieSlice(
                     String.format(
                             "%s %s %s",
                             entry.getLeaderboard().getGame().getCleanName(),
                             FormationUtilities.getFormattedNumber(percentage) + "%",
                             FormationUtilities.getFormattedNumber(entry.getScore())
-                    )
+                    ),
+                    entry.getScore()
             ));
         }
 
         // Calculate unknown
         final long difference = totalValue - foundSum;
         if (difference > 0) {
-            final float percentage = this.calculatePercentage(difference, totalValue);
-            slices.add(Slice.newSlice(
-                    Math.round(percentage * 100),
+            slices.add(new PieSlice(
                     String.format(
                             "%s %s %s",
                             "Unknown",
                             FormationUtilities.getFormattedNumber(this.calculatePercentage(difference, totalValue)) + "%",
                             FormationUtilities.getFormattedNumber(difference)
-                    )
+                    ),
+                    difference
             ));
         }
 
-        // Sort after percentage
-        slices.sort(Comparator.comparingLong(Slice::getPercentage));
+        // Biggest slices first
+        slices.sort(Comparator.comparingLong(PieSlice::getValue).reversed());
         return new CalculatedPie(slices, biggestTime);
     }
 
@@ -146,7 +134,7 @@ public class JavaPlayerStatsRatioCommand extends BaseStatsCommand<JavaPlayer> {
         return totalValue;
     }
 
-    private String generatePieChart(final PlayerStats<JavaPlayer> playerStats) {
+    private PicturePie generatePieChart(final PlayerStats<JavaPlayer> playerStats) {
         final long totalValue = this.calculateTotalValue(playerStats.getStats());
         final CalculatedPie calculatedPie = this.parseSlices(
                 totalValue,
@@ -154,18 +142,20 @@ public class JavaPlayerStatsRatioCommand extends BaseStatsCommand<JavaPlayer> {
         );
 
         final PlayerEntry entry = SetUtilities.getFirstEntry(playerStats.getStats());
-        final PieChart pieChart = GCharts.newPieChart(calculatedPie.getSlices());
-        pieChart.setSize(750, 400);
-        pieChart.setTitle(String.format(
-                "%s %s %s %s %s",
-                playerStats.getPlayer().getName(),
-                entry.getLeaderboard().getStat().getCleanName(),
-                entry.getLeaderboard().getBoard().getCleanName(),
-                FormationUtilities.getFormattedNumber(totalValue),
-                FormationUtilities.getFormattedTime(calculatedPie.getHighestTime())
-        ));
-
-        return this.generatePieUrl(pieChart);
+        return new PicturePie(
+                String.format(
+                        "%s %s %s",
+                        playerStats.getPlayer().getName(),
+                        entry.getLeaderboard().getStat().getCleanName(),
+                        entry.getLeaderboard().getBoard().getCleanName()
+                ),
+                String.format(
+                        "Total %s - Java - %s",
+                        FormationUtilities.getFormattedNumber(totalValue),
+                        FormationUtilities.getFormattedTime(calculatedPie.getHighestTime())
+                ),
+                calculatedPie.getSlices()
+        );
     }
 
     private Optional<PlayerStats<JavaPlayer>> getPlayerStats(final CommandParameters commandParameters,
@@ -174,14 +164,25 @@ public class JavaPlayerStatsRatioCommand extends BaseStatsCommand<JavaPlayer> {
                                                              final String board,
                                                              final ZonedDateTime zonedDateTime,
                                                              final Set<Reason> filterReasons) {
+        this.validateStatOrThrow(commandParameters, null, stat, STAT_POSITION);
+        this.validateBoardOrThrow(commandParameters, board, BOARD_POSITION);
+
         try {
-            return ((JavaMpStatsApiClient) this.getApiClient()).getPlayerClient().getPlayerStatStats(
+            return this.executeApiCall(
+                    () -> ((JavaMpStatsApiClient) this.getApiClient()).getPlayerClient().getPlayerStatStats(
+                            playerUUID,
+                            stat,
+                            board,
+                            false,
+                            zonedDateTime,
+                            filterReasons
+                    ),
+                    "playerStatStats",
                     playerUUID,
-                    stat,
-                    board,
-                    false,
-                    zonedDateTime,
-                    filterReasons
+                    stat.toLowerCase(Locale.ROOT),
+                    board.toLowerCase(Locale.ROOT),
+                    getRequestedTime(commandParameters, TIME_POSITION, zonedDateTime),
+                    Set.copyOf(filterReasons)
             );
         } catch (final InvalidStatNameRestException exception) {
             this.throwArgumentCorrectionMessage(
@@ -236,7 +237,7 @@ public class JavaPlayerStatsRatioCommand extends BaseStatsCommand<JavaPlayer> {
         final UUID playerUUID = JavaArgumentParsingUtilities.getPlayerUUIDOrThrow(commandParameters, playerName);
         final String stat = this.getArg(commandParameters, STAT_POSITION);
         final String board = this.getArgOrDefault(commandParameters, BOARD_POSITION, ArgumentParsingUtilities.getDefaultBoard());
-        final ZonedDateTime zonedDateTime = ArgumentParsingUtilities.getDateTimeOrThrow(commandParameters, 3);
+        final ZonedDateTime zonedDateTime = ArgumentParsingUtilities.getDateTimeOrThrow(commandParameters, TIME_POSITION);
         final Set<Reason> filterReasons = ArgumentParsingUtilities.getFilterReasons(commandParameters);
 
         // Web request
@@ -254,22 +255,23 @@ public class JavaPlayerStatsRatioCommand extends BaseStatsCommand<JavaPlayer> {
         }
 
         final PlayerStats<JavaPlayer> playerStats = playerStatsOpt.get();
-        final String pieUrl = this.generatePieChart(playerStats);
-
-        // Send to server
-        commandParameters.getLowestMessageChannel()
-                .sendMessage(pieUrl)
-                .queue();
+        final PicturePie picturePie = this.generatePieChart(playerStats);
+        final CommandResult commandResult = this.sendPicture(
+                commandParameters,
+                picturePie,
+                String.format("%s-%s-%s", playerName, stat, board)
+        );
 
-        if (commandParameters.getUserDb().getSettingOrDefault(DisclaimerMessagesSetting.class, true)) {
+        if (commandResult == CommandResult.SUCCESS
+                && UserSettingsSnapshot.of(commandParameters).getSettingOrDefault(DisclaimerMessagesSetting.class, true)) {
             this.sendDisclaimerMessage(commandParameters);
         }
-        return CommandResult.SUCCESS;
+        return commandResult;
     }
 
     @Data
     private static class CalculatedPie {
-        private final List<Slice> slices;
+        private final List<PieSlice> slices;
         private final ZonedDateTime highestTime;
     }
 }
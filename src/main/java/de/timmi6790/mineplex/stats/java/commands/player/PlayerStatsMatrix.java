@@ -0,0 +1,167 @@
+package de.timmi6790.mineplex.stats.java.commands.player;
+
+import com.google.common.collect.Lists;
+import de.timmi6790.mineplex.stats.common.models.ParserResult;
+import de.timmi6790.mineplex.stats.common.utilities.FormationUtilities;
+import de.timmi6790.mpstats.api.client.common.board.exceptions.InvalidBoardNameException;
+import de.timmi6790.mpstats.api.client.common.game.exceptions.InvalidGameNameRestException;
+import de.timmi6790.mpstats.api.client.common.leaderboard.exceptions.InvalidLeaderboardCombinationRestException;
+import de.timmi6790.mpstats.api.client.common.player.models.GeneratedPlayerEntry;
+import de.timmi6790.mpstats.api.client.common.player.models.PlayerEntry;
+import de.timmi6790.mpstats.api.client.common.player.models.PlayerStats;
+import de.timmi6790.mpstats.api.client.common.stat.models.Stat;
+import de.timmi6790.mpstats.api.client.java.player.models.JavaPlayer;
+import lombok.experimental.UtilityClass;
+import lombok.extern.log4j.Log4j2;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Combines multiple player stats of the same game into one stat x column table.
+ */
+@UtilityClass
+@Log4j2
+class PlayerStatsMatrix {
+    private static final int ROW_SOFT_LIMIT = 20;
+
+    /**
+     * Waits for all requests until the shared deadline.
+     *
+     * @param invalidGameHandler called for an invalid game, expected to throw
+     * @return the stats of all requests that arrived in time, in the order of the requests
+     */
+    <K> Map<K, PlayerStats<JavaPlayer>> awaitAll(final Map<K, CompletableFuture<Optional<PlayerStats<JavaPlayer>>>> futures,
+                                                 final long deadlineMillis,
+                                                 final Consumer<InvalidGameNameRestException> invalidGameHandler) {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+        final Map<K, PlayerStats<JavaPlayer>> foundStats = new LinkedHashMap<>();
+        RuntimeException firstFailure = null;
+        for (final Map.Entry<K, CompletableFuture<Optional<PlayerStats<JavaPlayer>>>> entry : futures.entrySet()) {
+            try {
+                final long remainingNanos = Math.max(deadline - System.nanoTime(), 0);
+                entry.getValue()
+                        .get(remainingNanos, TimeUnit.NANOSECONDS)
+                        .ifPresent(stats -> foundStats.put(entry.getKey(), stats));
+            } catch (final TimeoutException ignore) {
+                // The column is missing in the table
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (final ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof InvalidGameNameRestException) {
+                    invalidGameHandler.accept((InvalidGameNameRestException) cause);
+                    continue;
+                }
+
+                // Boards without this game are skipped
+                if (cause instanceof InvalidLeaderboardCombinationRestException || cause instanceof InvalidBoardNameException) {
+                    continue;
+                }
+
+                if (cause instanceof RuntimeException) {
+                    if (firstFailure == null) {
+                        firstFailure = (RuntimeException) cause;
+                    }
+                } else {
+                    log.warn("Error while requesting player stats of " + entry.getKey(), cause);
+                }
+            }
+        }
+
+        // Api errors are only shown when nothing is available
+        if (foundStats.isEmpty() && firstFailure != null) {
+            throw firstFailure;
+        }
+        return foundStats;
+    }
+
+    private String formatCell(final PlayerEntry entry) {
+        final StringBuilder cell = new StringBuilder();
+        FormationUtilities.appendFormattedScore(cell, entry.getLeaderboard().getStat(), entry.getScore());
+        if (entry.getScore() != -1 && entry.getPosition() != -1) {
+            FormationUtilities.appendFormattedPosition(cell.append(" #"), entry.getPosition());
+        }
+        return cell.toString();
+    }
+
+    private String[] createRow(final String name, final int columns) {
+        final String[] row = new String[columns];
+        Arrays.fill(row, "");
+        row[0] = name;
+        return row;
+    }
+
+    /**
+     * @param columnStats the stats of every column, the keys are the column names
+     */
+    ParserResult parse(final Map<String, PlayerStats<JavaPlayer>> columnStats, final String[] tableHeader) {
+        final List<String> columnNames = new ArrayList<>(columnStats.keySet());
+        final int columns = columnNames.size() + 1;
+
+        // Rows by stat name
+        final Map<String, Stat> stats = new HashMap<>();
+        final Map<String, String[]> statRows = new HashMap<>();
+        final Set<String> statsWithScore = new HashSet<>();
+        final Map<String, String[]> generatedRows = new TreeMap<>();
+        ZonedDateTime highestTime = LocalDateTime.MIN.atZone(ZoneId.systemDefault());
+        for (int columnIndex = 0; columnNames.size() > columnIndex; columnIndex++) {
+            final int column = columnIndex + 1;
+            final PlayerStats<JavaPlayer> playerStats = columnStats.get(columnNames.get(columnIndex));
+
+            for (final GeneratedPlayerEntry generatedEntry : playerStats.getGeneratedStats()) {
+                generatedRows.computeIfAbsent(generatedEntry.getCleanStatName(), name -> createRow(name, columns))[column] =
+                        FormationUtilities.getFormattedNumber(generatedEntry.getScore());
+            }
+
+            for (final PlayerEntry entry : playerStats.getStats()) {
+                final Stat stat = entry.getLeaderboard().getStat();
+                stats.putIfAbsent(stat.getStatName(), stat);
+                statRows.computeIfAbsent(stat.getStatName(), name -> createRow(FormationUtilities.getFormattedStat(stat), columns))[column] =
+                        formatCell(entry);
+
+                if (entry.getScore() != -1) {
+                    statsWithScore.add(stat.getStatName());
+                }
+                if (entry.getSaveTime().isAfter(highestTime)) {
+                    highestTime = entry.getSaveTime();
+                }
+            }
+        }
+
+        final String[] headerRow = new String[columns];
+        headerRow[0] = "Stat";
+        for (int columnIndex = 0; columnNames.size() > columnIndex; columnIndex++) {
+            headerRow[columnIndex + 1] = columnNames.get(columnIndex);
+        }
+
+        final List<String[]> parsed = Lists.newArrayListWithCapacity(generatedRows.size() + statRows.size() + 1);
+        parsed.add(headerRow);
+        parsed.addAll(generatedRows.values());
+
+        final List<Stat> sortedStats = new ArrayList<>(stats.values());
+        sortedStats.sort(JavaPlayerCommand::compareStats);
+        final boolean aboveLimit = generatedRows.size() + sortedStats.size() > ROW_SOFT_LIMIT;
+        for (final Stat stat : sortedStats) {
+            // Don't show empty rows if we are above the limit
+            if (aboveLimit && !statsWithScore.contains(stat.getStatName())) {
+                continue;
+            }
+            parsed.add(statRows.get(stat.getStatName()));
+        }
+
+        return new ParserResult(
+                parsed.toArray(new String[0][columns]),
+                tableHeader,
+                highestTime
+        );
+    }
+}
@@ -1,10 +1,10 @@
 package de.timmi6790.mineplex.stats.java.utilities;
 
-import de.timmi6790.api.mojang.MojangApiClient;
 import de.timmi6790.discord_framework.module.modules.command.CommandParameters;
 import de.timmi6790.discord_framework.module.modules.command.exceptions.CommandReturnException;
 import de.timmi6790.discord_framework.utilities.discord.DiscordMessagesUtilities;
 import de.timmi6790.minecraft.utilities.JavaUtilities;
+import de.timmi6790.mineplex.stats.common.settings.UserSettingsSnapshot;
 import de.timmi6790.mineplex.stats.common.utilities.InvalidArgUtilities;
 import de.timmi6790.mineplex.stats.java.settings.JavaNameReplacementSetting;
 import lombok.experimental.UtilityClass;
@@ -20,7 +20,10 @@ public class JavaArgumentParsingUtilities {
 
         // Check if the setting is used or not
         if (playerName.equals(JavaNameReplacementSetting.getKeyword())) {
-            playerName = commandParameters.getUserDb().getSettingOrDefault(JavaNameReplacementSetting.class, playerName);
+            playerName = UserSettingsSnapshot.of(commandParameters).getSettingOrDefault(
+                    JavaNameReplacementSetting.class,
+                    JavaNameReplacementSetting.getKeyword()
+            );
         }
 
         if (JavaUtilities.isValidName(playerName)) {
@@ -36,7 +39,7 @@ public class JavaArgumentParsingUtilities {
     }
 
     public UUID getPlayerUUIDOrThrow(final CommandParameters commandParameters, final String playerName) {
-        final Optional<UUID> playerUUIDOpt = MojangApiClient.getInstance().getPlayerUUID(playerName);
+        final Optional<UUID> playerUUIDOpt = JavaUtilities.getPlayerUUID(playerName);
         if (playerUUIDOpt.isPresent()) {
             return playerUUIDOpt.get();
         }
@@ -0,0 +1,112 @@
+package de.timmi6790.mineplex.stats.common.utilities;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DateUtilitiesTest {
+    private static final ZonedDateTime NOW = ZonedDateTime.of(2021, 8, 14, 18, 30, 45, 0, ZoneId.of("UTC"));
+
+    private static Optional<ZonedDateTime> parse(final String input) {
+        return DateUtilities.parseZonedDateTime(input, NOW);
+    }
+
+    private static void assertParsed(final String input, final String expected) {
+        final Optional<ZonedDateTime> parsed = parse(input);
+        assertTrue(parsed.isPresent(), () -> input + " should be valid");
+        assertEquals(Instant.parse(expected), parsed.get().toInstant());
+        assertEquals(ZoneId.of("UTC"), parsed.get().getZone());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "08.14.2021, 2021-08-14T00:00:00Z",
+            "08/14/2021 18, 2021-08-14T18:00:00Z",
+            "08-14-2021 18:05, 2021-08-14T18:05:00Z",
+            "08.14.2021 18:05:09, 2021-08-14T18:05:09Z",
+            "' 08.14.2021 ', 2021-08-14T00:00:00Z",
+            // Days after the end of the month are moved to the last day
+            "02.31.2021, 2021-02-28T00:00:00Z"
+    })
+    void parseLegacyDateTime(final String input, final String expected) {
+        assertParsed(input, expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "2021-08-14, 2021-08-14T00:00:00Z",
+            "2021-08-14T18:05:09Z, 2021-08-14T18:05:09Z",
+            "2021-08-14 18:05, 2021-08-14T18:05:00Z",
+            "2021-08-14T18:05:09.5+02:00, 2021-08-14T16:05:09.500Z",
+            "2021-08-14T18:05:09.123456789Z, 2021-08-14T18:05:09.123456789Z",
+            "2021-08-14T18:05+0130, 2021-08-14T16:35:00Z",
+            "2021-08-14T18:05-18:00, 2021-08-15T12:05:00Z"
+    })
+    void parseIsoDateTime(final String input, final String expected) {
+        assertParsed(input, expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "3d 12h ago, 2021-08-11T06:30:00Z",
+            "3d12h, 2021-08-11T06:30:00Z",
+            "1 week, 2021-08-07T18:30:00Z",
+            "2 months ago, 2021-06-14T18:30:00Z",
+            "5 YEARS, 2016-08-14T18:30:00Z",
+            "30 sec, 2021-08-14T18:30:00Z",
+            "1h 1m 1s ago, 2021-08-14T17:29:00Z"
+    })
+    void parseRelativeDateTime(final String input, final String expected) {
+        // Relative times are truncated to the minute
+        assertParsed(input, expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "123456789, 1973-11-29T21:33:09Z",
+            "1629331200, 2021-08-19T00:00:00Z",
+            "1629331200123, 2021-08-19T00:00:00.123Z"
+    })
+    void parseUnixTimestamp(final String input, final String expected) {
+        assertParsed(input, expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "   ",
+            "abc",
+            // Years and dates without separators are not timestamps
+            "2021",
+            "08142021",
+            "12345678",
+            "1234567890123456",
+            "13.01.2021",
+            "08.14.21",
+            "08.14.2021 24",
+            "08.14.2021 18:60",
+            "08.14.2021 18:05 extra",
+            "2021-13-01",
+            "2021-08-14T18",
+            "2021-08-14T18:05:09X",
+            "2021-08-14T18:05:09+19:00",
+            "2021-08-14T18:05:09+18:30",
+            "2021-08-14T18:05:09.",
+            "ago",
+            "3 parsecs",
+            "10m ago ago",
+            "ago 10m",
+            "1234567d"
+    })
+    void parseInvalidInput(final String input) {
+        assertEquals(Optional.empty(), parse(input), () -> input + " should be invalid");
+    }
+}